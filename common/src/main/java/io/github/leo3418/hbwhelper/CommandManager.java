@@ -0,0 +1,256 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper;
+
+import static dev.architectury.event.events.client.ClientCommandRegistrationEvent.argument;
+import static dev.architectury.event.events.client.ClientCommandRegistrationEvent.literal;
+
+import com.google.gson.JsonParseException;
+import com.mojang.brigadier.CommandDispatcher;
+import com.mojang.brigadier.arguments.IntegerArgumentType;
+import com.mojang.brigadier.builder.LiteralArgumentBuilder;
+import com.mojang.brigadier.context.CommandContext;
+import dev.architectury.event.events.client.ClientCommandRegistrationEvent;
+import dev.architectury.event.events.client.ClientCommandRegistrationEvent.ClientCommandSourceStack;
+import io.github.leo3418.hbwhelper.diagnostics.Diagnostics;
+import io.github.leo3418.hbwhelper.diagnostics.LatencyHistogram;
+import io.github.leo3418.hbwhelper.diagnostics.Profiler;
+import io.github.leo3418.hbwhelper.game.PromptTable;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import net.minecraft.client.Minecraft;
+import net.minecraft.commands.CommandBuildContext;
+import net.minecraft.network.chat.Component;
+
+/**
+ * Command manager of this mod, which registers and executes this mod's client-side commands.
+ *
+ * <p>All commands are under the {@code /hbwhelper} command:
+ *
+ * <ul>
+ *   <li>{@code /hbwhelper reload} reloads the {@linkplain PromptTable chat prompt table} from the
+ *       current resource packs
+ *   <li>{@code /hbwhelper diagnostics dump} writes recent {@linkplain Diagnostics diagnostics
+ *       events} to the game log
+ *   <li>{@code /hbwhelper diagnostics stats} shows statistics of this mod in chat
+ *   <li>{@code /hbwhelper profile [seconds]} shows how long sections of this mod's work took in
+ *       the last seconds, as measured by the {@linkplain Profiler profiler}
+ *   <li>{@code /hbwhelper profile enable} and {@code /hbwhelper profile disable} turn the profiler
+ *       on and off
+ * </ul>
+ *
+ * <p>This is a Singleton class. Only one instance of this class may be created per runtime.
+ *
+ * @author Ambossmann
+ */
+public class CommandManager {
+    /** Number of seconds {@code /hbwhelper profile} summarizes by default */
+    private static final int DEFAULT_PROFILE_SECONDS = 10;
+
+    /** The only instance of this class */
+    private static final CommandManager INSTANCE = new CommandManager();
+
+    /**
+     * Implementation of Singleton design pattern, which allows only one instance of this class to be
+     * created.
+     */
+    private CommandManager() {}
+
+    /**
+     * Returns the instance of this class.
+     *
+     * @return the instance of this class
+     */
+    static CommandManager getInstance() {
+        return INSTANCE;
+    }
+
+    void register() {
+        ClientCommandRegistrationEvent.EVENT.register(this::onRegisterCommands);
+    }
+
+    public void onRegisterCommands(
+            CommandDispatcher<ClientCommandSourceStack> dispatcher, CommandBuildContext context) {
+        dispatcher.register(
+                literal(HbwHelper.MOD_ID)
+                        .then(literal("reload").executes(this::reloadPrompts))
+                        .then(
+                                literal("diagnostics")
+                                        .then(literal("dump").executes(this::dumpDiagnostics))
+                                        .then(literal("stats").executes(this::showStatistics)))
+                        .then(createProfileCommand()));
+    }
+
+    /**
+     * Creates the {@code /hbwhelper profile} command.
+     *
+     * @return the {@code /hbwhelper profile} command
+     */
+    private LiteralArgumentBuilder<ClientCommandSourceStack> createProfileCommand() {
+        return literal("profile")
+                .executes(c -> showProfile(c, DEFAULT_PROFILE_SECONDS))
+                .then(
+                        argument(
+                                        "seconds",
+                                        IntegerArgumentType.integer(
+                                                1, LatencyHistogram.WINDOW_SECONDS))
+                                .executes(
+                                        c ->
+                                                showProfile(
+                                                        c,
+                                                        IntegerArgumentType.getInteger(
+                                                                c, "seconds"))))
+                .then(literal("enable").executes(c -> setProfiling(c, true)))
+                .then(literal("disable").executes(c -> setProfiling(c, false)));
+    }
+
+    /**
+     * Loads the {@linkplain PromptTable chat prompt table} from the current resource packs and puts
+     * it in use. If the table cannot be loaded, the table in use is kept.
+     *
+     * @param context the command context
+     * @return the number of patterns loaded, or {@code 0} if the table cannot be loaded
+     */
+    private int reloadPrompts(CommandContext<ClientCommandSourceStack> context) {
+        PromptTable table;
+        try {
+            table = PromptTable.load(Minecraft.getInstance().getResourceManager());
+        } catch (IOException | JsonParseException e) {
+            HbwHelper.LOGGER.error("Failed to load " + PromptTable.LOCATION, e);
+            context.getSource()
+                    .arch$sendFailure(
+                            Component.translatable(
+                                    "hbwhelper.commands.reloadFailed", e.getMessage()));
+            return 0;
+        }
+        PromptTable.setCurrent(table);
+        Diagnostics.getInstance()
+                .log(Diagnostics.Level.INFO, "Loaded {} chat prompt patterns", table.size());
+        context.getSource()
+                .arch$sendSuccess(
+                        () -> Component.translatable("hbwhelper.commands.reloaded", table.size()),
+                        false);
+        return table.size();
+    }
+
+    /**
+     * Writes every event in the {@linkplain Diagnostics diagnostics} ring buffer to the game log.
+     *
+     * @param context the command context
+     * @return the number of events written
+     */
+    private int dumpDiagnostics(CommandContext<ClientCommandSourceStack> context) {
+        List<String> events = Diagnostics.getInstance().dump();
+        HbwHelper.LOGGER.info(
+                "{} diagnostics events:{}{}",
+                events.size(),
+                System.lineSeparator(),
+                String.join(System.lineSeparator(), events));
+        context.getSource()
+                .arch$sendSuccess(
+                        () ->
+                                Component.translatable(
+                                        "hbwhelper.commands.diagnostics.dumped", events.size()),
+                        false);
+        return events.size();
+    }
+
+    /**
+     * Shows every {@linkplain Diagnostics#getStatistics() statistic} in chat.
+     *
+     * @param context the command context
+     * @return the number of statistics shown
+     */
+    private int showStatistics(CommandContext<ClientCommandSourceStack> context) {
+        List<String> statistics = Diagnostics.getInstance().getStatistics();
+        for (String statistic : statistics) {
+            context.getSource().arch$sendSuccess(() -> Component.literal(statistic), false);
+        }
+        return statistics.size();
+    }
+
+    /**
+     * Shows the median, the 99th percentile and the maximum of durations of every {@linkplain
+     * Profiler.Section profiled section} in the last seconds in chat.
+     *
+     * @param context the command context
+     * @param seconds number of seconds to summarize
+     * @return the number of sections shown, or {@code 0} if profiling is disabled
+     */
+    private int showProfile(CommandContext<ClientCommandSourceStack> context, int seconds) {
+        Profiler profiler = Profiler.getInstance();
+        if (!profiler.isEnabled()) {
+            context.getSource()
+                    .arch$sendFailure(
+                            Component.translatable("hbwhelper.commands.profile.notEnabled"));
+            return 0;
+        }
+        context.getSource()
+                .arch$sendSuccess(
+                        () -> Component.translatable("hbwhelper.commands.profile.header", seconds),
+                        false);
+        for (Profiler.Section section : Profiler.Section.values()) {
+            LatencyHistogram.Summary summary = profiler.summarize(section, seconds);
+            Component line =
+                    Component.translatable(
+                            "hbwhelper.commands.profile.section",
+                            section.getDisplayName(),
+                            toMicros(summary.getP50()),
+                            toMicros(summary.getP99()),
+                            toMicros(summary.getMax()),
+                            summary.getCount());
+            context.getSource().arch$sendSuccess(() -> line, false);
+        }
+        return Profiler.Section.values().length;
+    }
+
+    /**
+     * Turns the {@linkplain Profiler profiler} on or off.
+     *
+     * @param context the command context
+     * @param enabled whether the profiler should be on
+     * @return {@code 1}
+     */
+    private int setProfiling(CommandContext<ClientCommandSourceStack> context, boolean enabled) {
+        ConfigManager.getInstance().changeProfiling(enabled);
+        String key =
+                enabled
+                        ? "hbwhelper.commands.profile.enabled"
+                        : "hbwhelper.commands.profile.disabled";
+        context.getSource().arch$sendSuccess(() -> Component.translatable(key), false);
+        return 1;
+    }
+
+    /**
+     * Formats a duration in nanoseconds as microseconds.
+     *
+     * @param nanos the duration in nanoseconds
+     * @return the duration in microseconds with one decimal place
+     */
+    private static String toMicros(long nanos) {
+        return String.format(Locale.ROOT, "%.1f", nanos / 1000.0);
+    }
+}
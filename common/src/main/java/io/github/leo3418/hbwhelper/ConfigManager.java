@@ -25,7 +25,11 @@
  */
 package io.github.leo3418.hbwhelper;
 
+import io.github.leo3418.hbwhelper.diagnostics.Diagnostics;
+import io.github.leo3418.hbwhelper.diagnostics.DiagnosticsMode;
+import io.github.leo3418.hbwhelper.diagnostics.Profiler;
 import io.github.leo3418.hbwhelper.game.DreamMode;
+import io.github.leo3418.hbwhelper.gui.HudGovernor;
 import io.github.leo3418.hbwhelper.gui.HudGui;
 import java.util.Objects;
 import net.minecraft.client.Minecraft;
@@ -59,6 +63,27 @@ public class ConfigManager {
      */
     private static final int DEFAULT_HUD_Y = 2;
 
+    /** Default number of times per second information shown on {@link HudGui HudGui} is read */
+    private static final int DEFAULT_HUD_SAMPLE_RATE = 20;
+
+    /**
+     * Default average frame time in milliseconds above which {@link HudGovernor HudGovernor} lowers
+     * the quality of {@link HudGui HudGui}
+     */
+    private static final int DEFAULT_ADAPTIVE_HUD_DEGRADE_MILLIS = 33;
+
+    /**
+     * Default average frame time in milliseconds below which {@link HudGovernor HudGovernor} raises
+     * the quality of {@link HudGui HudGui}
+     */
+    private static final int DEFAULT_ADAPTIVE_HUD_RECOVER_MILLIS = 20;
+
+    /**
+     * Default maximum number of seconds between two searches for generators while none can be
+     * read
+     */
+    private static final int DEFAULT_GENERATOR_SEARCH_MAX_SECONDS = 5;
+
     /** The only instance of this class */
     private static final ConfigManager INSTANCE;
 
@@ -93,12 +118,45 @@ public class ConfigManager {
     /** Height from the top edge of the Minecraft window to the top edge of {@link HudGui} */
     private final IntValue hudY;
 
+    /** Whether {@link HudGui} should be rendered into a cache and redrawn only when it changes */
+    private final BooleanValue cacheHud;
+
+    /** Number of times per second information shown on {@link HudGui} is read */
+    private final IntValue hudSampleRate;
+
+    /** Whether {@link HudGovernor} should lower the quality of {@link HudGui} under pressure */
+    private final BooleanValue adaptiveHud;
+
+    /** Average frame time in milliseconds above which the quality of {@link HudGui} is lowered */
+    private final IntValue adaptiveHudDegradeMillis;
+
+    /** Average frame time in milliseconds below which the quality of {@link HudGui} is raised */
+    private final IntValue adaptiveHudRecoverMillis;
+
+    /** Maximum number of seconds between two searches for generators while none can be read */
+    private final IntValue generatorSearchMaxSeconds;
+
     /** The current game for the Dream Mode on Hypixel */
     private final EnumValue<DreamMode> currentDreamMode;
 
-    /** */
+    /**
+     * Whether formatted chat messages should be logged; replaced by {@link #diagnosticsMode} but
+     * still read so that configurations from older versions keep working
+     */
     private final BooleanValue debugChatMessages;
 
+    /** Where {@linkplain Diagnostics diagnostics events} should be recorded */
+    private final EnumValue<DiagnosticsMode> diagnosticsMode;
+
+    /** The lowest level of {@linkplain Diagnostics diagnostics events} that should be recorded */
+    private final EnumValue<Diagnostics.Level> diagnosticsLevel;
+
+    /** Whether prompts in chat messages should be found on a background thread */
+    private final BooleanValue asyncChatClassification;
+
+    /** Whether durations of this mod's work should be {@linkplain Profiler measured} */
+    private final BooleanValue profiling;
+
     /**
      * Implementation of Singleton design pattern, which allows only one instance of this class to be
      * created.
@@ -140,6 +198,50 @@ public class ConfigManager {
                         .translation("hbwhelper.configGui.hudY.title")
                         .defineInRange("hudY", DEFAULT_HUD_Y, 0, Integer.MAX_VALUE);
 
+        cacheHud =
+                configSpecBuilder
+                        .translation("hbwhelper.configGui.cacheHud.title")
+                        .define("cacheHud", false);
+        // Information is read on client ticks, so it cannot be read more
+        // often than the tick rate
+        hudSampleRate =
+                configSpecBuilder
+                        .translation("hbwhelper.configGui.hudSampleRate.title")
+                        .defineInRange(
+                                "hudSampleRate",
+                                DEFAULT_HUD_SAMPLE_RATE,
+                                1,
+                                DEFAULT_HUD_SAMPLE_RATE);
+
+        adaptiveHud =
+                configSpecBuilder
+                        .translation("hbwhelper.configGui.adaptiveHud.title")
+                        .define("adaptiveHud", false);
+        adaptiveHudDegradeMillis =
+                configSpecBuilder
+                        .translation("hbwhelper.configGui.adaptiveHudDegradeMillis.title")
+                        .defineInRange(
+                                "adaptiveHudDegradeMillis",
+                                DEFAULT_ADAPTIVE_HUD_DEGRADE_MILLIS,
+                                1,
+                                1000);
+        adaptiveHudRecoverMillis =
+                configSpecBuilder
+                        .translation("hbwhelper.configGui.adaptiveHudRecoverMillis.title")
+                        .defineInRange(
+                                "adaptiveHudRecoverMillis",
+                                DEFAULT_ADAPTIVE_HUD_RECOVER_MILLIS,
+                                1,
+                                1000);
+        generatorSearchMaxSeconds =
+                configSpecBuilder
+                        .translation("hbwhelper.configGui.generatorSearchMaxSeconds.title")
+                        .defineInRange(
+                                "generatorSearchMaxSeconds",
+                                DEFAULT_GENERATOR_SEARCH_MAX_SECONDS,
+                                1,
+                                60);
+
         currentDreamMode =
                 configSpecBuilder
                         .translation("hbwhelper.configGui.currentDreamMode.title")
@@ -149,6 +251,23 @@ public class ConfigManager {
                 configSpecBuilder
                         .translation("hbwhelper.configGui.debugChatMessages.title")
                         .define("debugChatMessages", false);
+        diagnosticsMode =
+                configSpecBuilder
+                        .translation("hbwhelper.configGui.diagnosticsMode.title")
+                        .defineEnum("diagnosticsMode", DiagnosticsMode.OFF);
+        diagnosticsLevel =
+                configSpecBuilder
+                        .translation("hbwhelper.configGui.diagnosticsLevel.title")
+                        .defineEnum("diagnosticsLevel", Diagnostics.Level.TRACE);
+
+        asyncChatClassification =
+                configSpecBuilder
+                        .translation("hbwhelper.configGui.asyncChatClassification.title")
+                        .define("asyncChatClassification", false);
+        profiling =
+                configSpecBuilder
+                        .translation("hbwhelper.configGui.profiling.title")
+                        .define("profiling", false);
     }
 
     /**
@@ -255,6 +374,67 @@ public class ConfigManager {
         return hudY.get();
     }
 
+    /**
+     * Returns whether {@link HudGui HudGui} should be rendered into a cache and redrawn only when it
+     * changes.
+     *
+     * @return whether {@code HudGui} should be rendered into a cache
+     */
+    public boolean cacheHud() {
+        return cacheHud.get();
+    }
+
+    /**
+     * Returns the number of times per second information shown on {@link HudGui HudGui} is read.
+     *
+     * @return the number of times per second information shown on {@code HudGui} is read
+     */
+    public int hudSampleRate() {
+        return hudSampleRate.get();
+    }
+
+    /**
+     * Returns whether {@link HudGovernor HudGovernor} should lower the quality of {@link HudGui
+     * HudGui} while frame times are too long.
+     *
+     * @return whether the quality of {@code HudGui} should adapt to frame times
+     */
+    public boolean adaptiveHud() {
+        return adaptiveHud.get();
+    }
+
+    /**
+     * Returns the average frame time in milliseconds above which the quality of {@link HudGui
+     * HudGui} is lowered.
+     *
+     * @return the average frame time in milliseconds above which the quality of {@code HudGui} is
+     *     lowered
+     */
+    public int adaptiveHudDegradeMillis() {
+        return adaptiveHudDegradeMillis.get();
+    }
+
+    /**
+     * Returns the average frame time in milliseconds below which the quality of {@link HudGui
+     * HudGui} is raised.
+     *
+     * @return the average frame time in milliseconds below which the quality of {@code HudGui} is
+     *     raised
+     */
+    public int adaptiveHudRecoverMillis() {
+        return adaptiveHudRecoverMillis.get();
+    }
+
+    /**
+     * Returns the maximum number of seconds between two searches for generators while none can be
+     * read.
+     *
+     * @return the maximum number of seconds between two searches for generators
+     */
+    public int generatorSearchMaxSeconds() {
+        return generatorSearchMaxSeconds.get();
+    }
+
     /**
      * Returns the current game for the Dream mode on Hypixel.
      *
@@ -265,12 +445,46 @@ public class ConfigManager {
     }
 
     /**
-     * Returns if formatted chat messages should be logged.
+     * Returns where {@linkplain Diagnostics diagnostics events}, like formatted chat messages,
+     * should be recorded. If this is not set but formatted chat messages should be logged
+     * according to the setting of older versions, events are recorded in the log file.
      *
-     * @return whether formatted chat messages should be logged
+     * @return where diagnostics events should be recorded
      */
-    public boolean debugChatMessages() {
-        return debugChatMessages.get();
+    public DiagnosticsMode diagnosticsMode() {
+        DiagnosticsMode mode = diagnosticsMode.get();
+        if (mode == DiagnosticsMode.OFF && debugChatMessages.get()) {
+            return DiagnosticsMode.FILE;
+        }
+        return mode;
+    }
+
+    /**
+     * Returns the lowest level of {@linkplain Diagnostics diagnostics events} that should be
+     * recorded.
+     *
+     * @return the lowest level of diagnostics events that should be recorded
+     */
+    public Diagnostics.Level diagnosticsLevel() {
+        return diagnosticsLevel.get();
+    }
+
+    /**
+     * Returns whether prompts in chat messages should be found on a background thread.
+     *
+     * @return whether prompts in chat messages should be found on a background thread
+     */
+    public boolean asyncChatClassification() {
+        return asyncChatClassification.get();
+    }
+
+    /**
+     * Returns whether durations of this mod's work should be {@linkplain Profiler measured}.
+     *
+     * @return whether durations of this mod's work should be measured
+     */
+    public boolean profiling() {
+        return profiling.get();
     }
 
     // Modification Operations
@@ -354,6 +568,16 @@ public class ConfigManager {
         hudY.set(newValue);
     }
 
+    /**
+     * Changes whether {@link HudGui HudGui} should be rendered into a cache and redrawn only when it
+     * changes.
+     *
+     * @param newValue whether {@code HudGui} should be rendered into a cache
+     */
+    public void changeCacheHud(boolean newValue) {
+        cacheHud.set(newValue);
+    }
+
     /**
      * Changes the current game for the Dream mode on Hypixel.
      *
@@ -364,4 +588,13 @@ public class ConfigManager {
         Objects.requireNonNull(newValue, "newValue");
         currentDreamMode.set(newValue);
     }
+
+    /**
+     * Changes whether durations of this mod's work should be {@linkplain Profiler measured}.
+     *
+     * @param newValue whether durations of this mod's work should be measured
+     */
+    public void changeProfiling(boolean newValue) {
+        profiling.set(newValue);
+    }
 }
@@ -25,25 +25,44 @@
  */
 package io.github.leo3418.hbwhelper;
 
+import com.google.gson.JsonParseException;
 import dev.architectury.event.CompoundEventResult;
+import dev.architectury.event.EventResult;
 import dev.architectury.event.events.client.*;
+import dev.architectury.event.events.common.EntityEvent;
 import dev.architectury.hooks.client.screen.ScreenAccess;
+import dev.architectury.registry.ReloadListenerRegistry;
+import io.github.leo3418.hbwhelper.diagnostics.Diagnostics;
 import io.github.leo3418.hbwhelper.event.GameEvent;
 import io.github.leo3418.hbwhelper.game.GameManager;
 import io.github.leo3418.hbwhelper.game.GameType;
 import io.github.leo3418.hbwhelper.game.GameTypeDetector;
+import io.github.leo3418.hbwhelper.game.GeneratorRegistry;
+import io.github.leo3418.hbwhelper.game.PromptTable;
+import io.github.leo3418.hbwhelper.gui.HudGovernor;
 import io.github.leo3418.hbwhelper.gui.HudGui;
+import io.github.leo3418.hbwhelper.gui.HudSampler;
+import io.github.leo3418.hbwhelper.util.ChatClassifier;
+import io.github.leo3418.hbwhelper.util.ChatMessage;
 import io.github.leo3418.hbwhelper.util.GameDetector;
 import io.github.leo3418.hbwhelper.util.HypixelDetector;
 import io.github.leo3418.hbwhelper.util.InProgressGameDetector;
+import io.github.leo3418.hbwhelper.util.SessionState;
+import io.github.leo3418.hbwhelper.util.SessionStateMachine;
 import io.github.leo3418.hbwhelper.util.TextComponents;
+import java.io.IOException;
 import java.util.Objects;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.Screen;
 import net.minecraft.network.chat.ChatType;
 import net.minecraft.network.chat.Component;
+import net.minecraft.server.packs.PackType;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.server.packs.resources.ResourceManagerReloadListener;
+import net.minecraft.world.entity.Entity;
 import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
 
 /**
  * Event manager of this mod, which responds to events fired on Minecraft Forge's event bus and this
@@ -92,20 +111,24 @@ public class EventManager {
     /** The {@link HudGui} instance */
     private final HudGui hudGui;
 
+    /** The {@link HudSampler} instance */
+    private final HudSampler hudSampler;
+
+    /** The {@link GeneratorRegistry} instance */
+    private final GeneratorRegistry generatorRegistry;
+
+    /** The {@link ChatClassifier} instance */
+    private final ChatClassifier chatClassifier;
+
+    /** The {@link Diagnostics} instance */
+    private final Diagnostics diagnostics;
+
     /**
-     * Whether the current {@link GameManager} instance returned by {@link GameManager#getInstance()}
-     * should be cleared when client switches to the next Bed Wars game
-     *
-     * <p>If this boolean's value is set to {@code true}, it should be changed to {@code false} when
-     * one of the following conditions is satisfied:
-     *
-     * <ul>
-     *   <li>Client leaves the current Bed Wars game and joins the next game
-     *   <li>Client was being transferred to another in-progress Bed Wars game, but the teleport is
-     *       cancelled for whatever reason
-     * </ul>
+     * The {@link SessionStateMachine} instance, whose {@link SessionState#REJOINING} state means
+     * the current {@link GameManager} instance returned by {@link GameManager#getInstance()} should
+     * be cleared when client switches to the next Bed Wars game
      */
-    private boolean shouldClearGMInstance;
+    private final SessionStateMachine session;
 
     /**
      * Implementation of Singleton design pattern, which allows only one instance of this class to be
@@ -117,6 +140,37 @@ public class EventManager {
         ipGameDetector = InProgressGameDetector.getInstance();
         gameTypeDetector = GameTypeDetector.getInstance();
         hudGui = HudGui.getInstance();
+        hudSampler = HudSampler.getInstance();
+        generatorRegistry = GeneratorRegistry.getInstance();
+        chatClassifier = ChatClassifier.getInstance();
+        diagnostics = Diagnostics.getInstance();
+        session = SessionStateMachine.getInstance();
+        diagnostics.registerStatistic(
+                "Formatted text conversions", TextComponents::getConversionCount);
+        diagnostics.registerStatistic(
+                "Formatting code cache hit rate", TextComponents::getFormattingCodeCacheHitRate);
+        // The prefilter is replaced whenever the prompt table is reloaded
+        diagnostics.registerStatistic(
+                "Chat messages checked by prompt prefilter",
+                () -> PromptTable.getCurrent().getPrefilter().getCheckedCount());
+        diagnostics.registerStatistic(
+                "Prompt prefilter reject rate",
+                () -> PromptTable.getCurrent().getPrefilter().getRejectRate());
+        diagnostics.registerStatistic("Session state", session::getState);
+        diagnostics.registerStatistic("Session transitions", session::getTransitionCounts);
+        diagnostics.registerStatistic("HUD samples taken", hudSampler::getSampleCount);
+        diagnostics.registerStatistic("HUD draw calls per frame", hudGui::getDrawCalls);
+        diagnostics.registerStatistic("HUD quality", HudGovernor.getInstance()::getLevel);
+        diagnostics.registerStatistic(
+                "HUD quality degradations", HudGovernor.getInstance()::getDegradationCounts);
+        diagnostics.registerStatistic(
+                "HUD draw calls per frame without batching", hudGui::getUnbatchedDrawCalls);
+        diagnostics.registerStatistic(
+                "Tracked generators", generatorRegistry::getGeneratorCounts);
+        diagnostics.registerStatistic(
+                "Generator spawn time reads", generatorRegistry::getReadCount);
+        diagnostics.registerStatistic(
+                "Generator searches per minute", generatorRegistry::getSearchesPerMinute);
     }
 
     /**
@@ -129,15 +183,38 @@ public class EventManager {
     }
 
     void register() {
+        // Handlers are called in the order they are added here
+        session.addChatHandler(
+                gameDetector::update,
+                SessionState.LOBBY,
+                SessionState.PRE_GAME,
+                SessionState.REJOINING);
+        session.addChatHandler(
+                ipGameDetector::detect,
+                SessionState.LOBBY,
+                SessionState.PRE_GAME,
+                SessionState.IN_GAME,
+                SessionState.REJOINING,
+                SessionState.SPECTATING);
+        session.addChatHandler(
+                this::updateGameManager,
+                SessionState.IN_GAME,
+                SessionState.REJOINING,
+                SessionState.SPECTATING);
         ClientChatEvent.RECEIVED.register(this::onClientChatReceived);
         ClientSystemMessageEvent.RECEIVED.register(m -> this.onClientChatReceived(null, m));
         ClientTickEvent.CLIENT_POST.register(this::onClientTick);
+        ClientLifecycleEvent.CLIENT_STOPPING.register(mc -> diagnostics.close());
+        ReloadListenerRegistry.register(
+                PackType.CLIENT_RESOURCES,
+                (ResourceManagerReloadListener) this::onResourceManagerReload);
         ClientGuiEvent.RENDER_HUD.register(this::onRenderGameOverlay);
         ClientGuiEvent.INIT_POST.register(this::onGuiOpen);
         ClientPlayerEvent.CLIENT_PLAYER_JOIN.register(
                 player -> this.onClientPlayerNetworkEvent(NetworkEventType.LOGGING_IN));
         ClientPlayerEvent.CLIENT_PLAYER_QUIT.register(
                 player -> this.onClientPlayerNetworkEvent(NetworkEventType.LOGGING_OUT));
+        EntityEvent.ADD.register(this::onEntityAdded);
         GameEvent.CLIENT_JOIN_IN_PROGRESS_GAME.register(this::onClientJoinIPGame);
         GameEvent.CLIENT_REJOIN_GAME.register(this::onClientRejoinGame);
         GameEvent.CLIENT_LEAVE_GAME.register(this::onClientLeaveGame);
@@ -149,6 +226,32 @@ public class EventManager {
     public void onClientPlayerNetworkEvent(NetworkEventType networkEventType) {
         hypixelDetector.update(networkEventType);
         gameDetector.update(networkEventType);
+        switch (networkEventType) {
+            case LOGGING_IN -> {
+                // Client may log in again when Hypixel moves it between
+                // servers, which should not change the state
+                if (!hypixelDetector.isIn()) {
+                    session.transition(SessionState.OFF_HYPIXEL, "connected to another server");
+                } else if (session.isIn(SessionState.OFF_HYPIXEL)) {
+                    session.transition(SessionState.LOBBY, "connected to Hypixel");
+                }
+            }
+            case LOGGING_OUT -> {
+                if (session.isIn(SessionState.REJOINING)) {
+                    // The next game client joins cannot be the game it was
+                    // being sent to
+                    GameManager.clearInstance();
+                }
+                generatorRegistry.clear();
+                session.transition(SessionState.OFF_HYPIXEL, "disconnected");
+            }
+            case RESPAWN -> {}
+        }
+    }
+
+    public EventResult onEntityAdded(Entity entity, Level level) {
+        generatorRegistry.onEntityAdded(entity, level);
+        return EventResult.pass();
     }
 
     public void onGuiOpen(Screen screen, ScreenAccess access) {
@@ -156,16 +259,70 @@ public class EventManager {
     }
 
     public CompoundEventResult<Component> onClientChatReceived(
-            ChatType.Bound type, Component message) {
-        if (ConfigManager.getInstance().debugChatMessages()) {
-            HbwHelper.LOGGER.info(TextComponents.toFormattedText(message));
+            ChatType.Bound type, Component component) {
+        if (!session.hasChatHandlers() && !diagnostics.isEnabled(Diagnostics.Level.TRACE)) {
+            // Nobody would read the message, like when client is not in Hypixel
+            return CompoundEventResult.pass();
+        }
+        // Every class below shares this object, so the message is converted
+        // to each textual view at most once
+        ChatMessage message = new ChatMessage(component);
+        if (ConfigManager.getInstance().asyncChatClassification()) {
+            // The message will be handled in onClientTick after its prompts
+            // are found on a background thread
+            chatClassifier.submit(message);
+        } else {
+            handleChatMessage(message);
+        }
+        return CompoundEventResult.pass();
+    }
+
+    /**
+     * Passes a chat message client receives to every class that analyzes chat messages in the
+     * current {@linkplain SessionState session state}.
+     *
+     * @param message the chat message
+     */
+    private void handleChatMessage(ChatMessage message) {
+        boolean debug = diagnostics.isEnabled(Diagnostics.Level.DEBUG);
+        long conversionsBefore = TextComponents.getConversionCount();
+        // The message is only converted to formatted text if the event is
+        // ever dumped or written
+        diagnostics.log(Diagnostics.Level.TRACE, "Received chat message: {}", message);
+        session.dispatch(message);
+        if (debug) {
+            diagnostics.log(
+                    Diagnostics.Level.DEBUG,
+                    "Formatted text conversions for this message: {}",
+                    TextComponents.getConversionCount() - conversionsBefore);
         }
-        gameDetector.update(message);
-        ipGameDetector.detect(message);
+    }
+
+    /**
+     * Passes a chat message client receives to the current {@link GameManager} instance if client
+     * is in a Bed Wars game and the instance exists.
+     *
+     * @param message the chat message
+     */
+    private void updateGameManager(ChatMessage message) {
+        // Client stays in REJOINING after it leaves the game
         if (gameDetector.isIn() && GameManager.getInstance() != null) {
             GameManager.getInstance().update(message);
         }
-        return CompoundEventResult.pass();
+    }
+
+    public void onResourceManagerReload(ResourceManager resourceManager) {
+        // Translations and sprites drawn on the HUD may have changed
+        hudGui.invalidate();
+        try {
+            PromptTable table = PromptTable.load(resourceManager);
+            PromptTable.setCurrent(table);
+            diagnostics.log(
+                    Diagnostics.Level.INFO, "Loaded {} chat prompt patterns", table.size());
+        } catch (IOException | JsonParseException e) {
+            // Keeps the table in use so chat prompts are still recognized
+            HbwHelper.LOGGER.error("Failed to load " + PromptTable.LOCATION, e);
+        }
     }
 
     public void onRenderGameOverlay(GuiGraphics graphics, float tickDelta) {
@@ -173,28 +330,52 @@ public class EventManager {
     }
 
     public void onClientTick(Minecraft mc) {
+        diagnostics.tick();
+        chatClassifier.drain(this::handleChatMessage);
         gameTypeDetector.detect();
+        updateSpectating(mc);
+        // Reads the world after everything above has updated the game state
+        hudSampler.tick();
+    }
+
+    /**
+     * Moves the session between {@link SessionState#IN_GAME} and {@link SessionState#SPECTATING}
+     * when the player starts or stops spectating.
+     *
+     * @param mc the Minecraft client
+     */
+    private void updateSpectating(Minecraft mc) {
+        if (mc.player == null) {
+            return;
+        }
+        if (session.isIn(SessionState.IN_GAME) && mc.player.isSpectator()) {
+            session.transition(SessionState.SPECTATING, "player started spectating");
+        } else if (session.isIn(SessionState.SPECTATING) && !mc.player.isSpectator()) {
+            session.transition(SessionState.IN_GAME, "player stopped spectating");
+        }
     }
 
     public void onGameStart() {
         GameManager.clearInstance();
+        session.transition(SessionState.IN_GAME, "game started");
         gameTypeDetector.startDetection();
         HbwHelper.LOGGER.info("Game started");
     }
 
     public void onClientJoinIPGame() {
         if (gameDetector.isIn()) {
-            shouldClearGMInstance = true;
+            session.transition(SessionState.REJOINING, "sent to an in-progress game");
         } else {
             GameManager.clearInstance();
+            session.transition(SessionState.PRE_GAME, "sent to an in-progress game");
         }
     }
 
     public void onClientRejoinGame() {
-        if (shouldClearGMInstance) {
+        if (session.isIn(SessionState.REJOINING)) {
             GameManager.clearInstance();
-            shouldClearGMInstance = false;
         }
+        session.transition(SessionState.IN_GAME, "rejoined a game");
         Player player = Objects.requireNonNull(Minecraft.getInstance().player);
         if (GameManager.getInstance() == null) {
             // Client is rejoining a Bed Wars game after restart of Minecraft
@@ -208,6 +389,9 @@ public class EventManager {
 
     public void onClientLeaveGame() {
         gameTypeDetector.stopDetection();
+        if (session.isIn(SessionState.IN_GAME, SessionState.SPECTATING)) {
+            session.transition(SessionState.LOBBY, "left the game");
+        }
     }
 
     public void onGameTypeDetected(GameType gameType) {
@@ -215,7 +399,9 @@ public class EventManager {
     }
 
     public void onTeleportCancelled() {
-        shouldClearGMInstance = false;
+        if (session.isIn(SessionState.REJOINING)) {
+            session.transition(SessionState.IN_GAME, "teleport cancelled");
+        }
     }
 
     public enum NetworkEventType {
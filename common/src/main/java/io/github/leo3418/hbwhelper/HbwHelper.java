@@ -38,5 +38,6 @@ public final class HbwHelper {
 
     public static void init() {
         EventManager.getInstance().register();
+        CommandManager.getInstance().register();
     }
 }
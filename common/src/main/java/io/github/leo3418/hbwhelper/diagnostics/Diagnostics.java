@@ -0,0 +1,418 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.diagnostics;
+
+import io.github.leo3418.hbwhelper.ConfigManager;
+import io.github.leo3418.hbwhelper.HbwHelper;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Supplier;
+import net.minecraft.client.Minecraft;
+import org.slf4j.helpers.MessageFormatter;
+
+/**
+ * Records diagnostics events of this mod, like chat messages it receives and changes it makes to
+ * the game state, into an in-memory ring buffer that can be dumped on demand, and optionally into a
+ * log file.
+ *
+ * <p>Events are described by an SLF4J-style message pattern and its arguments, which are only
+ * formatted into text when the events are dumped or written to the file. An event whose {@linkplain
+ * Level level} is lower than the level in this mod's configuration, or any event when diagnostics
+ * is {@linkplain DiagnosticsMode#OFF off}, is discarded before anything is allocated for it, so
+ * callers may pass objects with an expensive {@link Object#toString()} as arguments.
+ *
+ * <p>Because events are formatted lazily, arguments should not be changed after they are passed to
+ * this class.
+ *
+ * <p>This is a Singleton class. Only one instance of this class may be created per runtime.
+ *
+ * @author Ambossmann
+ */
+public class Diagnostics {
+    /** Maximum number of events kept in the ring buffer */
+    private static final int CAPACITY = 512;
+
+    /** Minimum time, in milliseconds, between two writes to the log file */
+    private static final long FILE_WRITE_INTERVAL = 1000;
+
+    /** Name of the log file in the game's {@code logs} directory */
+    private static final String FILE_NAME = HbwHelper.MOD_ID + "-diagnostics.log";
+
+    /** Formatter for the time stamp of events */
+    private static final DateTimeFormatter TIME_FORMATTER =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    /** Arguments of events without any argument */
+    private static final Object[] NO_ARGS = new Object[0];
+
+    /** The only instance of this class */
+    private static final Diagnostics INSTANCE = new Diagnostics();
+
+    /** Ring buffer of recent events, where the {@code n}th event is at {@code n % CAPACITY} */
+    private final Event[] events;
+
+    /** Statistics reported by {@link #getStatistics()}, in the order they are registered */
+    private final Map<String, Supplier<?>> statistics;
+
+    /**
+     * Ordinal of the lowest {@linkplain Level level} of events that are recorded, or {@link
+     * Integer#MAX_VALUE} if no event is recorded
+     */
+    private volatile int threshold;
+
+    /** Number of events that have ever been recorded */
+    private long eventCount;
+
+    /** Number of events that have been written to the log file or skipped */
+    private long writtenCount;
+
+    /** The current mode, which is only accessed from the client thread */
+    private DiagnosticsMode mode;
+
+    /** Writer for the log file, or {@code null} if the file is not open */
+    private Writer writer;
+
+    /** Whether the log file could not be opened, so it should not be tried again */
+    private boolean fileFailed;
+
+    /** Time, in milliseconds, when the log file was last written */
+    private long lastWriteTime;
+
+    /**
+     * Implementation of Singleton design pattern, which allows only one instance of this class to be
+     * created.
+     */
+    private Diagnostics() {
+        events = new Event[CAPACITY];
+        statistics = new LinkedHashMap<>();
+        threshold = Integer.MAX_VALUE;
+        mode = DiagnosticsMode.OFF;
+    }
+
+    /**
+     * Returns the instance of this class.
+     *
+     * @return the instance of this class
+     */
+    public static Diagnostics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns whether events of a {@linkplain Level level} are currently recorded.
+     *
+     * <p>This method can be used to skip computing arguments of events that would be discarded.
+     *
+     * @param level the level
+     * @return whether events of the level are currently recorded
+     */
+    public boolean isEnabled(Level level) {
+        return level.ordinal() >= threshold;
+    }
+
+    /**
+     * Records an event without any argument.
+     *
+     * @param level the level of the event
+     * @param message the message of the event
+     */
+    public void log(Level level, String message) {
+        if (isEnabled(level)) {
+            record(level, message, NO_ARGS);
+        }
+    }
+
+    /**
+     * Records an event with one argument.
+     *
+     * @param level the level of the event
+     * @param pattern the message pattern of the event
+     * @param arg the argument
+     */
+    public void log(Level level, String pattern, Object arg) {
+        if (isEnabled(level)) {
+            record(level, pattern, new Object[] {arg});
+        }
+    }
+
+    /**
+     * Records an event with two arguments.
+     *
+     * @param level the level of the event
+     * @param pattern the message pattern of the event
+     * @param arg1 the first argument
+     * @param arg2 the second argument
+     */
+    public void log(Level level, String pattern, Object arg1, Object arg2) {
+        if (isEnabled(level)) {
+            record(level, pattern, new Object[] {arg1, arg2});
+        }
+    }
+
+    /**
+     * Records an event with any number of arguments.
+     *
+     * @param level the level of the event
+     * @param pattern the message pattern of the event
+     * @param args the arguments
+     */
+    public void log(Level level, String pattern, Object... args) {
+        if (isEnabled(level)) {
+            record(level, pattern, args);
+        }
+    }
+
+    /**
+     * Adds an event to the ring buffer.
+     *
+     * @param level the level of the event
+     * @param pattern the message pattern of the event
+     * @param args the arguments
+     */
+    private synchronized void record(Level level, String pattern, Object[] args) {
+        events[(int) (eventCount % CAPACITY)] =
+                new Event(System.currentTimeMillis(), level, pattern, args);
+        eventCount++;
+    }
+
+    /**
+     * Returns every event in the ring buffer formatted into text, from the oldest to the newest.
+     *
+     * @return every event in the ring buffer formatted into text
+     */
+    public List<String> dump() {
+        Event[] snapshot;
+        synchronized (this) {
+            snapshot = snapshot(Math.max(eventCount - CAPACITY, 0));
+        }
+        List<String> lines = new ArrayList<>(snapshot.length);
+        for (Event event : snapshot) {
+            lines.add(event.toString());
+        }
+        return lines;
+    }
+
+    /**
+     * Copies events out of the ring buffer. The caller must hold this object's lock.
+     *
+     * @param from the number of the first event to copy, which must be still in the ring buffer
+     * @return events from the specified one to the newest
+     */
+    private Event[] snapshot(long from) {
+        Event[] snapshot = new Event[(int) (eventCount - from)];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = events[(int) ((from + i) % CAPACITY)];
+        }
+        return snapshot;
+    }
+
+    /**
+     * Adds a statistic to be reported by {@link #getStatistics()}.
+     *
+     * @param name name of the statistic
+     * @param value supplier of the statistic's current value
+     * @throws NullPointerException if any parameter is {@code null}
+     */
+    public synchronized void registerStatistic(String name, Supplier<?> value) {
+        Objects.requireNonNull(name, "name");
+        Objects.requireNonNull(value, "value");
+        statistics.put(name, value);
+    }
+
+    /**
+     * Returns the current value of every registered statistic formatted into text, in the order
+     * they were registered.
+     *
+     * @return the current value of every registered statistic formatted into text
+     */
+    public synchronized List<String> getStatistics() {
+        List<String> lines = new ArrayList<>(statistics.size() + 1);
+        lines.add("Diagnostics events recorded: " + eventCount);
+        for (Map.Entry<String, Supplier<?>> statistic : statistics.entrySet()) {
+            lines.add(statistic.getKey() + ": " + statistic.getValue().get());
+        }
+        return lines;
+    }
+
+    /**
+     * Applies changes to the diagnostics settings in this mod's configuration, and writes new
+     * events to the log file if it is time to do so.
+     *
+     * <p>This method should be called from the client thread on every client tick.
+     */
+    public void tick() {
+        ConfigManager config = ConfigManager.getInstance();
+        DiagnosticsMode newMode = config.diagnosticsMode();
+        threshold =
+                newMode == DiagnosticsMode.OFF
+                        ? Integer.MAX_VALUE
+                        : config.diagnosticsLevel().ordinal();
+        if (newMode != mode) {
+            if (mode == DiagnosticsMode.FILE) {
+                close();
+            }
+            mode = newMode;
+            fileFailed = false;
+        }
+        if (mode == DiagnosticsMode.FILE) {
+            long now = System.currentTimeMillis();
+            if (now - lastWriteTime >= FILE_WRITE_INTERVAL) {
+                lastWriteTime = now;
+                write();
+            }
+        }
+    }
+
+    /**
+     * Writes every event that has not been written to the log file and closes the file.
+     *
+     * <p>This method should be called from the client thread when the client is stopping.
+     */
+    public void close() {
+        if (mode == DiagnosticsMode.FILE) {
+            write();
+        }
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                HbwHelper.LOGGER.error("Failed to close " + FILE_NAME, e);
+            }
+            writer = null;
+        }
+    }
+
+    /** Writes every event that has not been written to the log file. */
+    private void write() {
+        Event[] pending;
+        long skipped;
+        synchronized (this) {
+            if (writtenCount == eventCount) {
+                return;
+            }
+            long from = Math.max(writtenCount, eventCount - CAPACITY);
+            skipped = from - writtenCount;
+            pending = snapshot(from);
+            writtenCount = eventCount;
+        }
+        if (fileFailed) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                Path logs = Minecraft.getInstance().gameDirectory.toPath().resolve("logs");
+                Files.createDirectories(logs);
+                writer =
+                        Files.newBufferedWriter(
+                                logs.resolve(FILE_NAME),
+                                StandardCharsets.UTF_8,
+                                StandardOpenOption.CREATE,
+                                StandardOpenOption.APPEND);
+            }
+            if (skipped > 0) {
+                writer.write(skipped + " events were overwritten before they could be written");
+                writer.write(System.lineSeparator());
+            }
+            for (Event event : pending) {
+                writer.write(event.toString());
+                writer.write(System.lineSeparator());
+            }
+            writer.flush();
+        } catch (IOException e) {
+            HbwHelper.LOGGER.error("Failed to write " + FILE_NAME, e);
+            fileFailed = true;
+        }
+    }
+
+    /**
+     * Enumeration of levels of diagnostics events, from the most verbose to the least verbose.
+     *
+     * @author Ambossmann
+     */
+    public enum Level {
+        /** Events that happen very often, like every chat message received */
+        TRACE,
+        /** Events that are useful for finding problems, like statistics of a step */
+        DEBUG,
+        /** Events that change the game state this mod keeps, like a team upgrade */
+        INFO
+    }
+
+    /** A recorded diagnostics event, which is formatted into text only when needed. */
+    private static final class Event {
+        /** Time, in milliseconds, when the event was recorded */
+        private final long time;
+
+        /** The level of the event */
+        private final Level level;
+
+        /** The message pattern of the event */
+        private final String pattern;
+
+        /** The arguments for {@link #pattern} */
+        private final Object[] args;
+
+        /**
+         * Constructs a new recorded event.
+         *
+         * @param time time, in milliseconds, when the event was recorded
+         * @param level the level of the event
+         * @param pattern the message pattern of the event
+         * @param args the arguments for the message pattern
+         */
+        private Event(long time, Level level, String pattern, Object[] args) {
+            this.time = time;
+            this.level = level;
+            this.pattern = pattern;
+            this.args = args;
+        }
+
+        /**
+         * Returns this event formatted into a line of text.
+         *
+         * @return this event formatted into a line of text
+         */
+        @Override
+        public String toString() {
+            return TIME_FORMATTER.format(Instant.ofEpochMilli(time))
+                    + " ["
+                    + level
+                    + "] "
+                    + MessageFormatter.arrayFormat(pattern, args).getMessage();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.diagnostics;
+
+/**
+ * Enumeration of places {@linkplain Diagnostics diagnostics events} can be recorded to.
+ *
+ * @author Ambossmann
+ */
+public enum DiagnosticsMode {
+    /** Diagnostics events are not recorded */
+    OFF,
+    /** Recent diagnostics events are only kept in memory until they are dumped */
+    RING_BUFFER,
+    /** Recent diagnostics events are kept in memory and also written to a log file */
+    FILE
+}
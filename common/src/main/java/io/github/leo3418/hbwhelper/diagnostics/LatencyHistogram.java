@@ -0,0 +1,276 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.diagnostics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed-size histogram of durations recorded over the last {@link #WINDOW_SECONDS} seconds,
+ * which can be recorded into from any thread without locking.
+ *
+ * <p>Durations are counted in buckets whose widths grow with the durations, so every duration is
+ * counted in a bucket at most 12.5% wider than the duration itself. The histogram keeps one set of
+ * buckets for each of the last {@link #WINDOW_SECONDS} seconds; the set for a second is cleared
+ * when the first duration of a new second is recorded into it. Durations recorded by another
+ * thread while a set is being cleared may be lost, which only matters for statistics and is
+ * unlikely since durations are usually recorded by a single thread.
+ *
+ * @author Ambossmann
+ */
+public final class LatencyHistogram {
+    /** Number of seconds durations are kept for */
+    public static final int WINDOW_SECONDS = 30;
+
+    /** Number of bits of a duration that choose a bucket among those of the same magnitude */
+    private static final int SUB_BUCKET_BITS = 3;
+
+    /** Number of buckets for each magnitude of durations */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** Durations below this value in nanoseconds each have their own bucket */
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+
+    /** Exponent of the largest power of two with its own buckets */
+    private static final int MAX_EXPONENT = 35;
+
+    /** Number of buckets for each second */
+    private static final int BUCKETS =
+            LINEAR_LIMIT + (MAX_EXPONENT - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /** Count of each bucket of each second */
+    private final AtomicLongArray counts;
+
+    /** Longest duration recorded in each second */
+    private final AtomicLongArray maxes;
+
+    /** The second each set of buckets is for, or {@code -1} if it is for no second */
+    private final AtomicLongArray seconds;
+
+    /** Value of {@link System#nanoTime()} when this histogram was created */
+    private final long origin;
+
+    /** Constructs a new, empty histogram. */
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(WINDOW_SECONDS * BUCKETS);
+        maxes = new AtomicLongArray(WINDOW_SECONDS);
+        seconds = new AtomicLongArray(WINDOW_SECONDS);
+        origin = System.nanoTime();
+        for (int i = 0; i < WINDOW_SECONDS; i++) {
+            seconds.set(i, -1);
+        }
+    }
+
+    /**
+     * Records a duration.
+     *
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        long second = currentSecond();
+        int slot = (int) (second % WINDOW_SECONDS);
+        long slotSecond = seconds.get(slot);
+        if (slotSecond != second && seconds.compareAndSet(slot, slotSecond, second)) {
+            for (int i = slot * BUCKETS; i < (slot + 1) * BUCKETS; i++) {
+                counts.set(i, 0);
+            }
+            maxes.set(slot, 0);
+        }
+        counts.incrementAndGet(slot * BUCKETS + bucketOf(nanos));
+        long max;
+        do {
+            max = maxes.get(slot);
+        } while (nanos > max && !maxes.compareAndSet(slot, max, nanos));
+    }
+
+    /**
+     * Summarizes the durations recorded in the last seconds.
+     *
+     * @param windowSeconds number of seconds to summarize, which is clamped to between {@code 1}
+     *     and {@link #WINDOW_SECONDS}
+     * @return a summary of the durations
+     */
+    public Summary summarize(int windowSeconds) {
+        windowSeconds = Math.max(1, Math.min(windowSeconds, WINDOW_SECONDS));
+        long now = currentSecond();
+        long[] merged = new long[BUCKETS];
+        long count = 0;
+        long max = 0;
+        for (int slot = 0; slot < WINDOW_SECONDS; slot++) {
+            long second = seconds.get(slot);
+            if (second < 0 || second <= now - windowSeconds) {
+                continue;
+            }
+            for (int i = 0; i < BUCKETS; i++) {
+                long bucketCount = counts.get(slot * BUCKETS + i);
+                merged[i] += bucketCount;
+                count += bucketCount;
+            }
+            max = Math.max(max, maxes.get(slot));
+        }
+        return new Summary(
+                count,
+                percentile(merged, count, 0.5, max),
+                percentile(merged, count, 0.99, max),
+                max);
+    }
+
+    /**
+     * Returns a duration that a fraction of the counted durations do not exceed, which is the upper
+     * bound of the bucket the duration is in.
+     *
+     * @param buckets count of each bucket
+     * @param count sum of counts of all buckets
+     * @param fraction the fraction
+     * @param max the longest duration counted, which no percentile exceeds
+     * @return the duration in nanoseconds, or {@code 0} if no duration has been counted
+     */
+    private static long percentile(long[] buckets, long count, double fraction, long max) {
+        long rank = (long) Math.ceil(count * fraction);
+        long seen = 0;
+        for (int i = 0; i < buckets.length; i++) {
+            seen += buckets[i];
+            if (seen >= rank && seen > 0) {
+                return Math.min(upperBoundOf(i), max);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the index of the bucket a duration is counted in.
+     *
+     * @param nanos the duration in nanoseconds, which must not be negative
+     * @return the index of the bucket
+     */
+    private static int bucketOf(long nanos) {
+        if (nanos < LINEAR_LIMIT) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (nanos >>> shift) & (SUB_BUCKETS - 1);
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Returns the longest duration counted in a bucket.
+     *
+     * @param bucket index of the bucket
+     * @return the longest duration in nanoseconds counted in the bucket
+     */
+    private static long upperBoundOf(int bucket) {
+        if (bucket < LINEAR_LIMIT) {
+            return bucket;
+        }
+        if (bucket == BUCKETS - 1) {
+            return Long.MAX_VALUE;
+        }
+        int shift = (bucket - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        int subBucket = (bucket - LINEAR_LIMIT) % SUB_BUCKETS;
+        return ((long) (SUB_BUCKETS + subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Returns the number of whole seconds since this histogram was created.
+     *
+     * @return the number of whole seconds since this histogram was created
+     */
+    private long currentSecond() {
+        return TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - origin);
+    }
+
+    /** A summary of durations recorded in a histogram. */
+    public static final class Summary {
+        /** Number of durations */
+        private final long count;
+
+        /** Median duration in nanoseconds */
+        private final long p50;
+
+        /** 99th percentile of durations in nanoseconds */
+        private final long p99;
+
+        /** Longest duration in nanoseconds */
+        private final long max;
+
+        /**
+         * Constructs a new summary.
+         *
+         * @param count number of durations
+         * @param p50 median duration in nanoseconds
+         * @param p99 99th percentile of durations in nanoseconds
+         * @param max longest duration in nanoseconds
+         */
+        private Summary(long count, long p50, long p99, long max) {
+            this.count = count;
+            this.p50 = p50;
+            this.p99 = p99;
+            this.max = max;
+        }
+
+        /**
+         * Returns the number of durations.
+         *
+         * @return the number of durations
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the median duration in nanoseconds.
+         *
+         * @return the median duration in nanoseconds
+         */
+        public long getP50() {
+            return p50;
+        }
+
+        /**
+         * Returns the 99th percentile of durations in nanoseconds.
+         *
+         * @return the 99th percentile of durations in nanoseconds
+         */
+        public long getP99() {
+            return p99;
+        }
+
+        /**
+         * Returns the longest duration in nanoseconds.
+         *
+         * @return the longest duration in nanoseconds
+         */
+        public long getMax() {
+            return max;
+        }
+    }
+}
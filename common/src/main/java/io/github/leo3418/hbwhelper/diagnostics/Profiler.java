@@ -0,0 +1,193 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.diagnostics;
+
+import io.github.leo3418.hbwhelper.ConfigManager;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Measures how long sections of this mod's work take, so the mod's cost per frame can be checked,
+ * for example on low-end machines during games.
+ *
+ * <p>Durations of each {@linkplain Section section} are recorded into a {@link LatencyHistogram},
+ * which keeps them for the last {@link LatencyHistogram#WINDOW_SECONDS} seconds. Nothing is
+ * measured unless profiling is {@linkplain ConfigManager#profiling() enabled}.
+ *
+ * <p>A section is measured like this:
+ *
+ * <pre>{@code
+ * long start = profiler.start();
+ * // Work to be measured
+ * profiler.end(Profiler.Section.HUD_RENDER, start);
+ * }</pre>
+ *
+ * <p>This is a Singleton class. Only one instance of this class may be created per runtime.
+ *
+ * @author Ambossmann
+ */
+public class Profiler {
+    /** The only instance of this class */
+    private static final Profiler INSTANCE = new Profiler();
+
+    /** The {@link ConfigManager} of this mod */
+    private final ConfigManager configManager;
+
+    /** Histogram of each section, created when profiling is first enabled */
+    private volatile Map<Section, LatencyHistogram> histograms;
+
+    /**
+     * Implementation of Singleton design pattern, which allows only one instance of this class to
+     * be created.
+     */
+    private Profiler() {
+        configManager = ConfigManager.getInstance();
+    }
+
+    /**
+     * Returns the instance of this class.
+     *
+     * @return the instance of this class
+     */
+    public static Profiler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns whether profiling is enabled.
+     *
+     * @return whether profiling is enabled
+     */
+    public boolean isEnabled() {
+        return configManager.profiling();
+    }
+
+    /**
+     * Returns the start time of a section, or {@code 0} if profiling is disabled.
+     *
+     * @return the start time of a section in nanoseconds, or {@code 0} if profiling is disabled
+     */
+    public long start() {
+        return isEnabled() ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Records the duration of a section that has just ended. Nothing is recorded if profiling was
+     * disabled when the section started.
+     *
+     * @param section the section
+     * @param start the start time returned by {@link #start()} when the section started
+     */
+    public void end(Section section, long start) {
+        if (start != 0) {
+            record(section, System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records a duration of a section, for sections whose durations are summed up by the caller.
+     *
+     * @param section the section
+     * @param nanos the duration in nanoseconds
+     */
+    public void record(Section section, long nanos) {
+        getHistograms().get(section).record(nanos);
+    }
+
+    /**
+     * Summarizes the durations of a section in the last seconds.
+     *
+     * @param section the section
+     * @param windowSeconds number of seconds to summarize
+     * @return a summary of the durations
+     */
+    public LatencyHistogram.Summary summarize(Section section, int windowSeconds) {
+        return getHistograms().get(section).summarize(windowSeconds);
+    }
+
+    /**
+     * Returns the histogram of each section, creating them if they have not been created.
+     *
+     * @return the histogram of each section
+     */
+    private Map<Section, LatencyHistogram> getHistograms() {
+        Map<Section, LatencyHistogram> result = histograms;
+        if (result == null) {
+            synchronized (this) {
+                result = histograms;
+                if (result == null) {
+                    result = new EnumMap<>(Section.class);
+                    for (Section section : Section.values()) {
+                        result.put(section, new LatencyHistogram());
+                    }
+                    histograms = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /** A section of this mod's work that can be measured. */
+    public enum Section {
+        /** Rendering the whole HUD in a frame */
+        HUD_RENDER("HUD render"),
+
+        /** Updating and drawing widgets showing information of the current game in a frame */
+        GAME_INFO("Game information"),
+
+        /** Updating and drawing the widget showing the player's armor in a frame */
+        ARMOR_INFO("Armor information"),
+
+        /** Updating and drawing the widget showing the player's status effects in a frame */
+        EFFECTS_INFO("Effects information"),
+
+        /** Reading the information shown on the HUD from the world */
+        HUD_SAMPLE("HUD sampling"),
+
+        /** Reading spawn times of diamond and emerald generators */
+        GENERATOR_LOOKUP("Generator lookup");
+
+        /** Name of this section shown to the player */
+        private final String displayName;
+
+        /**
+         * Constructs a new section.
+         *
+         * @param displayName name of the section shown to the player
+         */
+        Section(String displayName) {
+            this.displayName = displayName;
+        }
+
+        /**
+         * Returns the name of this section shown to the player.
+         *
+         * @return the name of this section shown to the player
+         */
+        public String getDisplayName() {
+            return displayName;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.game;
+
+/**
+ * Enumeration of all prompts in chat messages that this mod responds to, each of which makes this
+ * mod take a different action.
+ *
+ * <p>The patterns that indicate each prompt are not defined here but in a {@link PromptTable},
+ * which is loaded from a resource. All prompts occurring in a chat message are found with {@link
+ * PromptTable#findAll(io.github.leo3418.hbwhelper.util.TextRuns)}.
+ *
+ * <p>When more than one prompt occurs in the same message, classes using this enumeration should
+ * give precedence to the prompt declared first.
+ *
+ * @author Ambossmann
+ */
+public enum ChatPrompt {
+    /** Prompt client received in chat when a new Bed Wars game starts */
+    GAME_START,
+    /** Prompt client received in chat when it rejoins a game */
+    REJOIN,
+    /** Prompt client received in chat when it joins an in-progress game for the first time */
+    IN_PROGRESS_GAME_JOIN,
+    /**
+     * Prompt client received in chat when Hypixel attempts to put the player into the server they
+     * are already in
+     */
+    ALREADY_CONNECTED,
+    /**
+     * Prompt client received in chat when it joins an in-progress game that no longer accepts new
+     * players anymore
+     */
+    GAME_ALREADY_STARTED,
+    /** Part of the prompt shown when the player's team unlocks "Heal Pool" upgrade */
+    HEAL_POOL,
+    /** Part of the prompt shown when the player's team unlocks "Dragon Buff" upgrade */
+    DRAGON_BUFF,
+    /**
+     * Part of the prompt shown when the player's team unlocks "DeadShot" upgrade, which is followed
+     * by the upgrade's level in the same run
+     */
+    DEADSHOT,
+    /** Part of the prompt shown when the player's team gets {@link ForgeLevel#ORDINARY_FORGE} */
+    ORDINARY_FORGE,
+    /** Part of the prompt shown when the player's team unlocks {@link ForgeLevel#IRON_FORGE} */
+    IRON_FORGE,
+    /** Part of the prompt shown when the player's team unlocks {@link ForgeLevel#GOLDEN_FORGE} */
+    GOLDEN_FORGE,
+    /** Part of the prompt shown when the player's team unlocks {@link ForgeLevel#EMERALD_FORGE} */
+    EMERALD_FORGE,
+    /** Part of the prompt shown when the player's team unlocks {@link ForgeLevel#MOLTEN_FORGE} */
+    MOLTEN_FORGE,
+    /** Part of the prompt shown when the player's team purchases {@link TrapType#ORDINARY} */
+    ORDINARY_TRAP_PURCHASE,
+    /** Part of the prompt shown when {@link TrapType#ORDINARY} is set off */
+    ORDINARY_TRAP_SET_OFF,
+    /** Part of the prompt shown when the player's team purchases {@link TrapType#COUNTER} */
+    COUNTER_TRAP_PURCHASE,
+    /** Part of the prompt shown when {@link TrapType#COUNTER} is set off */
+    COUNTER_TRAP_SET_OFF,
+    /** Part of the prompt shown when the player's team purchases {@link TrapType#ALARM} */
+    ALARM_TRAP_PURCHASE,
+    /**
+     * Part of the prompt shown when {@link TrapType#ALARM} is set off
+     *
+     * <p>Hypixel uses "Alarm Trap" and "Alarm trap" at the same time.
+     */
+    ALARM_TRAP_SET_OFF,
+    /** Part of the prompt shown when the player's team purchases {@link TrapType#MINER_FATIGUE} */
+    MINER_FATIGUE_TRAP_PURCHASE,
+    /** Part of the prompt shown when {@link TrapType#MINER_FATIGUE} is set off */
+    MINER_FATIGUE_TRAP_SET_OFF
+}
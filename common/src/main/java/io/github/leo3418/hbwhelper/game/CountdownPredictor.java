@@ -0,0 +1,159 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.game;
+
+import java.util.function.IntSupplier;
+
+/**
+ * Predicts a countdown shown in whole seconds, such as a generator's spawn time, so that the text
+ * showing it only needs to be read once in a while.
+ *
+ * <p>The countdown is read until the number shown changes. The game time of that change is taken
+ * as the start of a second, and from then on the countdown is extrapolated from the game time and
+ * the server's tick rate. The text is read again only when the countdown is expected to wrap
+ * around, and every {@value #CHECK_INTERVAL_SECONDS} seconds to detect drift, like when the
+ * interval changes because the generator is upgraded. If a check disagrees with the prediction,
+ * the countdown is read again until the number shown changes.
+ *
+ * @author Ambossmann
+ */
+final class CountdownPredictor {
+    /** Number of seconds between two checks of a prediction */
+    static final int CHECK_INTERVAL_SECONDS = 5;
+
+    /** Value meaning that no countdown is known */
+    private static final int UNKNOWN = -1;
+
+    /** The reader of the countdown, which returns {@code -1} if the countdown cannot be read */
+    private final IntSupplier reader;
+
+    /** Whether the start of a second of the countdown has been found */
+    private boolean anchored;
+
+    /** Game time at the start of a second of the countdown */
+    private long anchorTick;
+
+    /** The countdown at {@link #anchorTick} */
+    private int anchorValue;
+
+    /** Game time at which the prediction should be checked next */
+    private long nextCheckTick;
+
+    /** The countdown last returned by this predictor, or {@link #UNKNOWN} */
+    private int lastValue = UNKNOWN;
+
+    /**
+     * Constructs a new predictor.
+     *
+     * @param reader the reader of the countdown, which returns {@code -1} if the countdown cannot
+     *     be read
+     */
+    CountdownPredictor(IntSupplier reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Returns the countdown at a game time, reading it only if it cannot be predicted.
+     *
+     * @param gameTime the current game time
+     * @param tickRate the number of ticks per second on the server
+     * @return the countdown, or {@code -1} if it cannot be read
+     */
+    int getCountdown(long gameTime, float tickRate) {
+        if (anchored) {
+            if (gameTime < anchorTick) {
+                // The client has moved to another world
+                anchored = false;
+            } else {
+                int elapsed = (int) ((gameTime - anchorTick) / tickRate);
+                int predicted = anchorValue - elapsed;
+                if (predicted > 0 && gameTime < nextCheckTick) {
+                    return lastValue = predicted;
+                }
+                int actual = reader.getAsInt();
+                if (actual == UNKNOWN) {
+                    reset();
+                    return UNKNOWN;
+                }
+                if (actual == predicted) {
+                    nextCheckTick = getCheckTick(elapsed, tickRate);
+                    return lastValue = actual;
+                }
+                anchored = false;
+                if (predicted > 0) {
+                    // Drifted, so the second must be found again from the
+                    // number that is shown now
+                    return lastValue = actual;
+                }
+                // Expected to wrap around, which is found below when the number
+                // shown differs from the last one returned
+                return lastValue = findAnchor(actual, gameTime, tickRate);
+            }
+        }
+        int actual = reader.getAsInt();
+        if (actual == UNKNOWN) {
+            reset();
+            return UNKNOWN;
+        }
+        return lastValue = findAnchor(actual, gameTime, tickRate);
+    }
+
+    /** Forgets the countdown, for example because the text showing it is no longer available. */
+    void reset() {
+        anchored = false;
+        lastValue = UNKNOWN;
+    }
+
+    /**
+     * Takes a game time as the start of a second if the number shown has changed since the last
+     * time the countdown was returned.
+     *
+     * @param actual the number shown now
+     * @param gameTime the current game time
+     * @param tickRate the number of ticks per second on the server
+     * @return the number shown now
+     */
+    private int findAnchor(int actual, long gameTime, float tickRate) {
+        if (lastValue != UNKNOWN && actual != lastValue) {
+            anchored = true;
+            anchorTick = gameTime;
+            anchorValue = actual;
+            nextCheckTick = getCheckTick(0, tickRate);
+        }
+        return actual;
+    }
+
+    /**
+     * Returns the game time of the next check, which is in the middle of a second so that the
+     * number shown is not about to change.
+     *
+     * @param elapsed the number of whole seconds since {@link #anchorTick}
+     * @param tickRate the number of ticks per second on the server
+     * @return the game time of the next check
+     */
+    private long getCheckTick(int elapsed, float tickRate) {
+        return anchorTick + (long) ((elapsed + CHECK_INTERVAL_SECONDS + 0.5F) * tickRate);
+    }
+}
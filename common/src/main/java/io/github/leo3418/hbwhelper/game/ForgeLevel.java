@@ -33,27 +33,27 @@ package io.github.leo3418.hbwhelper.game;
  */
 public enum ForgeLevel {
     /** The initial resource generation speed level without any upgrade */
-    ORDINARY_FORGE("Not upgraded"),
+    ORDINARY_FORGE(ChatPrompt.ORDINARY_FORGE),
     /** Resource generation speed level with "Iron Forge" upgrade */
-    IRON_FORGE("Iron Forge"),
+    IRON_FORGE(ChatPrompt.IRON_FORGE),
     /** Resource generation speed level with "Golden Forge" upgrade */
-    GOLDEN_FORGE("Golden Forge"),
+    GOLDEN_FORGE(ChatPrompt.GOLDEN_FORGE),
     /** Resource generation speed level with "Emerald Forge" upgrade */
-    EMERALD_FORGE("Emerald Forge"),
+    EMERALD_FORGE(ChatPrompt.EMERALD_FORGE),
     /** Resource generation speed level with "Molten Forge" upgrade */
-    MOLTEN_FORGE("Molten Forge");
+    MOLTEN_FORGE(ChatPrompt.MOLTEN_FORGE);
 
     /**
-     * Part of the prompt shown when the player's team unlocks this level of resource generation speed
+     * The prompt shown when the player's team unlocks this level of resource generation speed
      */
-    final String prompt;
+    final ChatPrompt prompt;
 
     /**
      * Constructs a new constant of resource generation speed levels.
      *
-     * @param name the name of this trap shown in any prompt in Hypixel without any formatting code
+     * @param prompt the prompt shown when the player's team unlocks this level
      */
-    ForgeLevel(String name) {
-        this.prompt = "§r§6" + name + "§r";
+    ForgeLevel(ChatPrompt prompt) {
+        this.prompt = prompt;
     }
 }
@@ -26,14 +26,8 @@
 package io.github.leo3418.hbwhelper.game;
 
 import io.github.leo3418.hbwhelper.HbwHelper;
-import io.github.leo3418.hbwhelper.util.TextComponents;
+import io.github.leo3418.hbwhelper.util.ChatMessage;
 import java.util.*;
-import net.minecraft.client.Minecraft;
-import net.minecraft.core.BlockPos;
-import net.minecraft.network.chat.Component;
-import net.minecraft.world.entity.Entity;
-import net.minecraft.world.entity.decoration.ArmorStand;
-import net.minecraft.world.phys.AABB;
 
 /**
  * Stores information and progress of a Bed Wars game session, and allows other classes to read
@@ -58,29 +52,6 @@ public class GameManager {
     /** Maximum number of traps a team can have in the trap queue */
     public static final int MAX_TRAPS = 3;
 
-    /*
-     * Note: Some of the prompts below in 1.14 and above differ from their
-     * counterpart in older Minecraft client versions.
-     */
-
-    /** Text that only appears in the line showing spawn time above a generator */
-    private static final String GENERATOR_TEXT = "§eSpawns in §r§c";
-
-    /** Text that only appears in a diamond generator's display name */
-    private static final String DIAMOND_GEN_TEXT = "§b§lDiamond§r";
-
-    /** Text that only appears in an emerald generator's display name */
-    private static final String EMERALD_GEN_TEXT = "§2§lEmerald§r";
-
-    /** Part of the prompt shown when the player's team unlocks "Heal Pool" upgrade */
-    private static final String HEAL_POOL_PROMPT = "§r§6Heal Pool§r";
-
-    /** Part of the prompt shown when the player's team unlocks "Dragon Buff" upgrade */
-    private static final String DRAGON_BUFF_PROMPT = "§r§6Dragon Buff§r";
-
-    /** Part of the prompt shown when the player's team unlocks "DeadShot" upgrade */
-    private static final String DEADSHOT_PROMPT = "§r§6DeadShot ";
-
     /** Reference to the last created instance of this class */
     private static GameManager instance;
 
@@ -93,12 +64,6 @@ public class GameManager {
     /** Cache of an unmodifiable copy of the trap queue */
     private final Collection<CountedTrap> readOnlyTraps;
 
-    /** Position of the diamond generator being read */
-    private BlockPos diamondGenPos;
-
-    /** Position of the emerald generator being read */
-    private BlockPos emeraldGenPos;
-
     /** Level of resource generation speed on the player's base island */
     private ForgeLevel forgeLevel;
 
@@ -174,18 +139,8 @@ public class GameManager {
      *     read
      */
     public int getNextDiamond() {
-        int time;
-        if (diamondGenPos != null) {
-            time = getSpawnTime(diamondGenPos);
-        } else {
-            time = -1;
-        }
-        // When position of diamond generator not set or the current generator's
-        // display name is no longer readable, find a new diamond generator
-        if (time == -1) {
-            diamondGenPos = findGenerator(DIAMOND_GEN_TEXT);
-        }
-        return time;
+        return GeneratorRegistry.getInstance()
+                .getSpawnTime(GeneratorRegistry.GeneratorType.DIAMOND);
     }
 
     /**
@@ -196,18 +151,8 @@ public class GameManager {
      *     read
      */
     public int getNextEmerald() {
-        int time;
-        if (emeraldGenPos != null) {
-            time = getSpawnTime(emeraldGenPos);
-        } else {
-            time = -1;
-        }
-        // When position of emerald generator not set or the current generator's
-        // display name is no longer readable, find a new emerald generator
-        if (time == -1) {
-            emeraldGenPos = findGenerator(EMERALD_GEN_TEXT);
-        }
-        return time;
+        return GeneratorRegistry.getInstance()
+                .getSpawnTime(GeneratorRegistry.GeneratorType.EMERALD);
     }
 
     /**
@@ -262,22 +207,18 @@ public class GameManager {
      * <p>This method should be called when the client is in Bed Wars, and a {@link
      * ClientChatReceivedEvent} is fired.
      *
-     * @param event the event fired when client receives a chat message
+     * @param message the chat message client receives
      */
-    public void update(Component message) {
-        String formattedMessage = TextComponents.toFormattedText(message);
-        HbwHelper.LOGGER.info("Received chat message:\n" + formattedMessage);
-        if (formattedMessage.contains(HEAL_POOL_PROMPT)) {
+    public void update(ChatMessage message) {
+        if (message.contains(ChatPrompt.HEAL_POOL)) {
             healPool = true;
             HbwHelper.LOGGER.info("Heal Pool enabled");
-        } else if (formattedMessage.contains(DRAGON_BUFF_PROMPT)) {
+        } else if (message.contains(ChatPrompt.DRAGON_BUFF)) {
             dragonBuff = true;
             HbwHelper.LOGGER.info("Dragon Buff enabled");
-        } else if (formattedMessage.contains(DEADSHOT_PROMPT)) {
-            // Parses the message to get the upgrade's level
-            int levelStart = formattedMessage.indexOf(DEADSHOT_PROMPT) + DEADSHOT_PROMPT.length();
-            int levelEnd = formattedMessage.indexOf("\u00A7r", levelStart);
-            String level = formattedMessage.substring(levelStart, levelEnd);
+        } else if (message.contains(ChatPrompt.DEADSHOT)) {
+            // The upgrade's level follows the prompt
+            String level = message.getTextAfter(ChatPrompt.DEADSHOT);
             switch (level) {
                 case "I":
                     deadShotLevel = 1;
@@ -292,10 +233,10 @@ public class GameManager {
                     deadShotLevel = 4;
                     break;
             }
-            HbwHelper.LOGGER.info("Deadshot level " + level);
+            HbwHelper.LOGGER.info("Deadshot level {}", level);
         } else {
             for (ForgeLevel level : ForgeLevel.values()) {
-                if (formattedMessage.contains(level.prompt)) {
+                if (message.contains(level.prompt)) {
                     forgeLevel = level;
                     return;
                 }
@@ -308,7 +249,7 @@ public class GameManager {
                 update the local trap queue correctly after client rejoins a
                 game.
                  */
-                if (formattedMessage.contains(trapType.purchasePrompt)) {
+                if (message.contains(trapType.purchasePrompt)) {
                     /*
                     If the local trap queue is full but new trap is purchased,
                     some traps must have been set off since client leaves
@@ -317,9 +258,9 @@ public class GameManager {
                         trapQueue.remove();
                     }
                     trapQueue.add(new CountedTrap(trapType, gameType.trapUses));
-                    HbwHelper.LOGGER.info("Trap " + trapType.purchasePrompt + " purchased");
+                    HbwHelper.LOGGER.info("Trap {} purchased", trapType);
                     return;
-                } else if (formattedMessage.contains(trapType.setOffPrompt)) {
+                } else if (message.contains(trapType.setOffPrompt)) {
                     /*
                     Removes all traps at the front of the trap queue that have
                     already been set off since client leaves
@@ -338,54 +279,10 @@ public class GameManager {
                             trapQueue.remove();
                         }
                     }
-                    HbwHelper.LOGGER.info("Trap " + trapType.setOffPrompt + " set off");
+                    HbwHelper.LOGGER.info("Trap {} set off", trapType);
                     return;
                 }
             }
         }
     }
-
-    /**
-     * Returns position of a generator (an armor stand) whose display name contains a specified
-     * string, or {@code null} if such armor stand cannot be found.
-     *
-     * @param generatorText the text that would appear above the generator
-     * @return position of a generator (an armor stand) whose display name contains a specified
-     *     string, or {@code null} if such armor stand cannot be found
-     */
-    private BlockPos findGenerator(String generatorText) {
-        Iterable<Entity> entities =
-                Objects.requireNonNull(Minecraft.getInstance().level).entitiesForRendering();
-        for (Entity entity : entities) {
-            if (entity instanceof ArmorStand) {
-                String name = TextComponents.toFormattedText(entity.getDisplayName());
-                if (name.contains(generatorText)) {
-                    return entity.blockPosition();
-                }
-            }
-        }
-        return null;
-    }
-
-    /**
-     * Returns spawn time of the generator at given position, or {@code -1} if a generator cannot be
-     * found or read at that position.
-     *
-     * @param generatorPos the position of the generator
-     * @return spawn time of the generator at given position, or {@code -1} if a generator cannot be
-     *     found or read at that position
-     */
-    private int getSpawnTime(BlockPos generatorPos) {
-        Iterable<ArmorStand> genEntities =
-                Objects.requireNonNull(Minecraft.getInstance().level)
-                        .getEntitiesOfClass(ArmorStand.class, new AABB(generatorPos));
-        for (ArmorStand genEntity : genEntities) {
-            Component floatTextComponent = genEntity.getDisplayName();
-            String formattedText = TextComponents.toFormattedText(floatTextComponent);
-            if (formattedText.contains(GENERATOR_TEXT)) {
-                return Integer.parseInt(floatTextComponent.getString().replaceAll("[^0-9]", ""));
-            }
-        }
-        return -1;
-    }
 }
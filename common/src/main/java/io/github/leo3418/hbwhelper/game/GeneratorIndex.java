@@ -0,0 +1,246 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.game;
+
+/**
+ * A k-d tree over the positions of the generators in a {@link GeneratorTable}, which finds the
+ * generators closest to a point in logarithmic time.
+ *
+ * <p>Generators do not move, so the tree is only rebuilt when generators are added to or removed
+ * from the table, which is detected through {@link GeneratorTable#getVersion()}. The tree is
+ * stored implicitly in an array of table indices: the subtree over the range {@code [from, to)}
+ * has its root at the middle of the range, with the left subtree before it and the right subtree
+ * after it. The axis a node splits on cycles through X, Y and Z with its depth.
+ *
+ * @author Ambossmann
+ */
+final class GeneratorIndex {
+    /** Number of dimensions of the positions */
+    private static final int DIMENSIONS = 3;
+
+    /** Table indices of the generators, in the order of the implicit tree */
+    private int[] nodes = new int[0];
+
+    /** Number of generators in the tree */
+    private int size;
+
+    /** The {@link GeneratorTable#getVersion() version} of the table the tree was built from */
+    private int builtVersion;
+
+    /** Whether the tree has been built at least once */
+    private boolean built;
+
+    /** Table indices of the closest generators found by the query in progress */
+    private int[] found;
+
+    /** Squared distances of the generators in {@link #found}, from the closest */
+    private double[] foundDistances;
+
+    /** Number of generators found by the query in progress */
+    private int foundCount;
+
+    /** Maximum number of generators to find in the query in progress */
+    private int limit;
+
+    /** X coordinate of the point of the query in progress */
+    private double queryX;
+
+    /** Y coordinate of the point of the query in progress */
+    private double queryY;
+
+    /** Z coordinate of the point of the query in progress */
+    private double queryZ;
+
+    /**
+     * Finds the generators closest to a point, rebuilding the tree first if the table has changed.
+     *
+     * @param table the table of generators
+     * @param x the X coordinate of the point
+     * @param y the Y coordinate of the point
+     * @param z the Z coordinate of the point
+     * @param out the array to store table indices of the closest generators into, from the
+     *     closest; at most {@code out.length} generators are found
+     * @return the number of generators found
+     */
+    int findNearest(GeneratorTable table, double x, double y, double z, int[] out) {
+        if (!built || builtVersion != table.getVersion()) {
+            build(table);
+        }
+        if (out.length == 0) {
+            return 0;
+        }
+        if (found == null || found.length < out.length) {
+            found = new int[out.length];
+            foundDistances = new double[out.length];
+        }
+        foundCount = 0;
+        limit = out.length;
+        queryX = x;
+        queryY = y;
+        queryZ = z;
+        search(table, 0, size, 0);
+        System.arraycopy(found, 0, out, 0, foundCount);
+        return foundCount;
+    }
+
+    /**
+     * Rebuilds the tree from the positions of the generators in a table.
+     *
+     * @param table the table of generators
+     */
+    private void build(GeneratorTable table) {
+        size = table.size();
+        if (nodes.length < size) {
+            nodes = new int[size];
+        }
+        for (int i = 0; i < size; i++) {
+            nodes[i] = i;
+        }
+        build(table, 0, size, 0);
+        builtVersion = table.getVersion();
+        built = true;
+    }
+
+    /**
+     * Arranges a range of {@link #nodes} into a subtree.
+     *
+     * @param table the table of generators
+     * @param from the start of the range, inclusive
+     * @param to the end of the range, exclusive
+     * @param depth the depth of the root of the subtree
+     */
+    private void build(GeneratorTable table, int from, int to, int depth) {
+        if (to - from <= 1) {
+            return;
+        }
+        int axis = depth % DIMENSIONS;
+        // There are only a handful of generators of each type on a map,
+        // so sorting the range is cheap enough
+        for (int i = from + 1; i < to; i++) {
+            int node = nodes[i];
+            double key = coordinate(table, node, axis);
+            int j = i - 1;
+            while (j >= from && coordinate(table, nodes[j], axis) > key) {
+                nodes[j + 1] = nodes[j];
+                j--;
+            }
+            nodes[j + 1] = node;
+        }
+        int mid = (from + to) >>> 1;
+        build(table, from, mid, depth + 1);
+        build(table, mid + 1, to, depth + 1);
+    }
+
+    /**
+     * Searches a subtree for generators closer to the query point than those found so far.
+     *
+     * @param table the table of generators
+     * @param from the start of the range of the subtree, inclusive
+     * @param to the end of the range of the subtree, exclusive
+     * @param depth the depth of the root of the subtree
+     */
+    private void search(GeneratorTable table, int from, int to, int depth) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        int node = nodes[mid];
+        double dx = table.getX(node) - queryX;
+        double dy = table.getY(node) - queryY;
+        double dz = table.getZ(node) - queryZ;
+        offer(node, dx * dx + dy * dy + dz * dz);
+
+        int axis = depth % DIMENSIONS;
+        double offset = coordinate(queryX, queryY, queryZ, axis) - coordinate(table, node, axis);
+        boolean nearFirst = offset < 0;
+        if (nearFirst) {
+            search(table, from, mid, depth + 1);
+        } else {
+            search(table, mid + 1, to, depth + 1);
+        }
+        // The other side can only hold closer generators if the splitting
+        // plane is closer than the farthest generator kept
+        if (foundCount < limit || offset * offset < foundDistances[foundCount - 1]) {
+            if (nearFirst) {
+                search(table, mid + 1, to, depth + 1);
+            } else {
+                search(table, from, mid, depth + 1);
+            }
+        }
+    }
+
+    /**
+     * Keeps a generator among those found if it is one of the closest so far.
+     *
+     * @param node the table index of the generator
+     * @param distance the squared distance from the generator to the query point
+     */
+    private void offer(int node, double distance) {
+        if (foundCount == limit && distance >= foundDistances[foundCount - 1]) {
+            return;
+        }
+        int i = foundCount < limit ? foundCount++ : foundCount - 1;
+        while (i > 0 && foundDistances[i - 1] > distance) {
+            found[i] = found[i - 1];
+            foundDistances[i] = foundDistances[i - 1];
+            i--;
+        }
+        found[i] = node;
+        foundDistances[i] = distance;
+    }
+
+    /**
+     * Returns a coordinate of a generator.
+     *
+     * @param table the table of generators
+     * @param node the table index of the generator
+     * @param axis {@code 0} for X, {@code 1} for Y, or {@code 2} for Z
+     * @return the coordinate
+     */
+    private static double coordinate(GeneratorTable table, int node, int axis) {
+        return switch (axis) {
+            case 0 -> table.getX(node);
+            case 1 -> table.getY(node);
+            default -> table.getZ(node);
+        };
+    }
+
+    /**
+     * Returns a coordinate of a point.
+     *
+     * @param x the X coordinate of the point
+     * @param y the Y coordinate of the point
+     * @param z the Z coordinate of the point
+     * @param axis {@code 0} for X, {@code 1} for Y, or {@code 2} for Z
+     * @return the coordinate
+     */
+    private static double coordinate(double x, double y, double z, int axis) {
+        return switch (axis) {
+            case 0 -> x;
+            case 1 -> y;
+            default -> z;
+        };
+    }
+}
@@ -0,0 +1,548 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.game;
+
+import io.github.leo3418.hbwhelper.ConfigManager;
+import io.github.leo3418.hbwhelper.util.StyledTextPattern;
+import java.util.Arrays;
+import java.util.StringJoiner;
+import net.minecraft.ChatFormatting;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientLevel;
+import net.minecraft.network.chat.Component;
+import net.minecraft.world.entity.Entity;
+import net.minecraft.world.entity.decoration.ArmorStand;
+import net.minecraft.world.entity.player.Player;
+import net.minecraft.world.level.Level;
+
+/**
+ * Keeps track of every diamond and emerald generator in the current world, so spawn times can be
+ * read without scanning the world.
+ *
+ * <p>Every armor stand added to the client's world is {@linkplain #onEntityAdded(Entity, Level)
+ * recorded} by its entity ID. Because the server may name an armor stand after adding it, armor
+ * stands are classified lazily, when spawn times are read. An armor stand becomes the label of a
+ * generator when its name matches the generator's display name, and the timer of the closest label
+ * when its name matches the spawn time line. Recorded armor stands are looked up with {@link
+ * ClientLevel#getEntity(int)}, which takes constant time; those that have been removed or renamed
+ * are dropped when they are looked up.
+ *
+ * <p>All generators of each type are kept in a {@link GeneratorTable}, and the spawn time of the
+ * generator closest to the player is shown, which is found with a {@link GeneratorIndex}. If none
+ * of the closest generators can be read, the soonest spawn time among all generators of the type
+ * is shown instead. When the armor stands of a generator leave render range, the other generators
+ * of the same type keep providing the spawn time.
+ *
+ * <p>Since spawn times count down steadily, they are only read from the armor stands now and then,
+ * and predicted by a {@link CountdownPredictor} in between. While no generator of a type can be
+ * read, searches for one are spaced out more and more, up to {@link
+ * ConfigManager#generatorSearchMaxSeconds()}; they start over as soon as an armor stand is added.
+ *
+ * <p>This is a Singleton class. Only one instance of this class may be created per runtime. It
+ * must only be used on the client thread.
+ *
+ * @author Ambossmann
+ */
+public class GeneratorRegistry {
+    /** Text that only appears in the line showing spawn time above a generator */
+    private static final StyledTextPattern TIMER_TEXT =
+            StyledTextPattern.wholeRun("Spawns in ", ChatFormatting.YELLOW);
+
+    /** Maximum squared distance between the label and the timer of the same generator */
+    private static final double MAX_TIMER_DISTANCE_SQR = 3 * 3;
+
+    /** Number of armor stands each array in this class has room for at first */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Number of ticks to wait after the first search for generators that finds nothing */
+    private static final int MIN_SEARCH_DELAY_TICKS = 1;
+
+    /** Number of seconds searches for generators are counted over */
+    private static final int SEARCH_COUNT_WINDOW_SECONDS = 60;
+
+    /** Number of generators closest to the player that are tried before all generators are */
+    private static final int NEAREST_CANDIDATES = 3;
+
+    /** Value meaning that a generator has been removed while it was being read */
+    private static final int REMOVED = -2;
+
+    /** The only instance of this class */
+    private static final GeneratorRegistry INSTANCE = new GeneratorRegistry();
+
+    /** IDs of armor stands that have not been classified */
+    private int[] pending;
+
+    /** Number of IDs in {@link #pending} */
+    private int pendingCount;
+
+    /** Generators of each type, indexed by {@link GeneratorType#ordinal()} */
+    private final GeneratorTable[] tables;
+
+    /** Spatial indices over the generators of each type */
+    private final GeneratorIndex[] indices;
+
+    /** Table indices of the generators closest to the player, filled by {@link #indices} */
+    private final int[] nearest;
+
+    /** Predictors of the spawn time of each generator type */
+    private final CountdownPredictor[] predictors;
+
+    /** Number of times spawn times have been read from armor stands since Minecraft started */
+    private long readCount;
+
+    /** Whether each generator type is being searched for because none of them can be read */
+    private final boolean[] searching;
+
+    /** Game time before which no generator of each type is searched for */
+    private final long[] nextSearchTicks;
+
+    /** Number of ticks to wait if the next search for each generator type finds nothing */
+    private final int[] searchDelays;
+
+    /** Number of searches for generators in each of the last seconds */
+    private final int[] searchCounts;
+
+    /** The second each element of {@link #searchCounts} is for */
+    private final long[] searchSeconds;
+
+    /** Value of {@link System#nanoTime()} when this registry was created */
+    private final long origin;
+
+    /** IDs of armor stands that show spawn times */
+    private int[] unpairedTimers;
+
+    /** Number of IDs in {@link #unpairedTimers} */
+    private int unpairedTimerCount;
+
+    /** The world the recorded armor stands are in, or {@code null} if nothing is recorded */
+    private ClientLevel level;
+
+    /**
+     * Implementation of Singleton design pattern, which allows only one instance of this class to
+     * be created.
+     */
+    private GeneratorRegistry() {
+        GeneratorType[] types = GeneratorType.values();
+        pending = new int[INITIAL_CAPACITY];
+        tables = new GeneratorTable[types.length];
+        indices = new GeneratorIndex[types.length];
+        nearest = new int[NEAREST_CANDIDATES];
+        predictors = new CountdownPredictor[types.length];
+        for (GeneratorType type : types) {
+            tables[type.ordinal()] = new GeneratorTable();
+            indices[type.ordinal()] = new GeneratorIndex();
+            predictors[type.ordinal()] = new CountdownPredictor(() -> readSpawnTime(type));
+        }
+        searching = new boolean[types.length];
+        nextSearchTicks = new long[types.length];
+        searchDelays = new int[types.length];
+        searchCounts = new int[SEARCH_COUNT_WINDOW_SECONDS];
+        searchSeconds = new long[SEARCH_COUNT_WINDOW_SECONDS];
+        origin = System.nanoTime();
+        unpairedTimers = new int[INITIAL_CAPACITY];
+        Arrays.fill(searching, true);
+        resetSearches();
+    }
+
+    /**
+     * Returns the instance of this class.
+     *
+     * @return the instance of this class
+     */
+    public static GeneratorRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records an entity if it is an armor stand added to the client's world.
+     *
+     * <p>This method should be called whenever an entity is added to a world.
+     *
+     * @param entity the entity
+     * @param level the world the entity is added to
+     */
+    public void onEntityAdded(Entity entity, Level level) {
+        if (!(entity instanceof ArmorStand) || !(level instanceof ClientLevel clientLevel)) {
+            return;
+        }
+        if (clientLevel != this.level) {
+            clear();
+            this.level = clientLevel;
+        }
+        pending = append(pending, pendingCount++, entity.getId());
+        resetSearches();
+    }
+
+    /** Forgets every recorded armor stand, for example because the client left the world. */
+    public void clear() {
+        pendingCount = 0;
+        for (GeneratorTable table : tables) {
+            table.clear();
+        }
+        for (CountdownPredictor predictor : predictors) {
+            predictor.reset();
+        }
+        Arrays.fill(searching, true);
+        resetSearches();
+        unpairedTimerCount = 0;
+        level = null;
+    }
+
+    /**
+     * Returns spawn time of the next resource from the generator of a type closest to the player,
+     * or {@code -1} if there is no generator of the type that can be read.
+     *
+     * @param type the type of generator
+     * @return spawn time of the next resource from the generator of the type closest to the
+     *     player, or {@code -1} if there is no generator of the type that can be read
+     */
+    public int getSpawnTime(GeneratorType type) {
+        if (!isCurrent()) {
+            return -1;
+        }
+        return predictors[type.ordinal()]
+                .getCountdown(level.getGameTime(), level.tickRateManager().tickrate());
+    }
+
+    /**
+     * Returns the number of times spawn times have been read from armor stands since Minecraft
+     * started.
+     *
+     * @return the number of times spawn times have been read from armor stands
+     */
+    public long getReadCount() {
+        return readCount;
+    }
+
+    /**
+     * Reads the spawn time of the next resource from the armor stands of the generator of a type
+     * closest to the player, or the soonest spawn time among all generators of the type if none of
+     * the closest can be read.
+     *
+     * @param type the type of generator
+     * @return the spawn time of the next resource from a generator of the type, or {@code -1} if
+     *     there is no generator of the type that can be read
+     */
+    private int readSpawnTime(GeneratorType type) {
+        int t = type.ordinal();
+        long gameTime = level.getGameTime();
+        if (searching[t]) {
+            if (gameTime < nextSearchTicks[t]) {
+                return -1;
+            }
+            countSearch();
+        }
+        readCount++;
+        classifyPending();
+        GeneratorTable table = tables[t];
+        int soonest = -1;
+        Player player = Minecraft.getInstance().player;
+        if (player != null) {
+            int found =
+                    indices[t].findNearest(
+                            table, player.getX(), player.getY(), player.getZ(), nearest);
+            for (int i = 0; i < found && soonest == -1; i++) {
+                int countdown = readGenerator(type, table, nearest[i]);
+                if (countdown == REMOVED) {
+                    // Other generators may have been moved to other indices
+                    break;
+                }
+                soonest = countdown;
+            }
+        }
+        if (soonest == -1) {
+            int i = 0;
+            while (i < table.size()) {
+                int countdown = readGenerator(type, table, i);
+                if (countdown == REMOVED) {
+                    continue;
+                }
+                if (countdown != -1 && (soonest == -1 || countdown < soonest)) {
+                    soonest = countdown;
+                }
+                i++;
+            }
+        }
+        if (soonest == -1) {
+            int maxDelay =
+                    (int)
+                            (ConfigManager.getInstance().generatorSearchMaxSeconds()
+                                    * level.tickRateManager().tickrate());
+            searching[t] = true;
+            nextSearchTicks[t] = gameTime + Math.min(searchDelays[t], maxDelay);
+            searchDelays[t] = Math.min(searchDelays[t] * 2, maxDelay);
+        } else {
+            searching[t] = false;
+            searchDelays[t] = MIN_SEARCH_DELAY_TICKS;
+        }
+        return soonest;
+    }
+
+    /**
+     * Reads the spawn time of the next resource from the armor stands of a generator. The
+     * generator is removed if its label has been removed or renamed.
+     *
+     * @param type the type of the generator
+     * @param table the table of generators of the type
+     * @param index the index of the generator in the table
+     * @return the spawn time, {@code -1} if the timer of the generator cannot be read, or {@link
+     *     #REMOVED} if the generator has been removed
+     */
+    private int readGenerator(GeneratorType type, GeneratorTable table, int index) {
+        ArmorStand label = getArmorStand(table.getLabelId(index));
+        if (label == null || !type.labelText.matches(label.getDisplayName())) {
+            table.remove(index);
+            return REMOVED;
+        }
+        ArmorStand timer = getArmorStand(table.getTimerId(index));
+        if (timer == null) {
+            table.setTimerId(index, takeClosestTimer(label));
+            timer = getArmorStand(table.getTimerId(index));
+        }
+        // The timer may briefly show something other than the spawn time
+        if (timer != null && TIMER_TEXT.matches(timer.getDisplayName())) {
+            int countdown = parseSpawnTime(timer.getDisplayName());
+            table.setCountdown(index, countdown);
+            return countdown;
+        }
+        return -1;
+    }
+
+    /** Makes the next search for each generator type happen right away. */
+    private void resetSearches() {
+        Arrays.fill(nextSearchTicks, Long.MIN_VALUE);
+        Arrays.fill(searchDelays, MIN_SEARCH_DELAY_TICKS);
+    }
+
+    /** Counts a search for generators in the current second. */
+    private void countSearch() {
+        long second = currentSecond();
+        int slot = (int) (second % SEARCH_COUNT_WINDOW_SECONDS);
+        if (searchSeconds[slot] != second) {
+            searchSeconds[slot] = second;
+            searchCounts[slot] = 0;
+        }
+        searchCounts[slot]++;
+    }
+
+    /**
+     * Returns the number of whole seconds since this registry was created.
+     *
+     * @return the number of whole seconds since this registry was created
+     */
+    private long currentSecond() {
+        return (System.nanoTime() - origin) / 1_000_000_000L;
+    }
+
+    /**
+     * Returns the number of searches for generators in the last minute.
+     *
+     * @return the number of searches for generators in the last minute
+     */
+    public int getSearchesPerMinute() {
+        long now = currentSecond();
+        int count = 0;
+        for (int i = 0; i < SEARCH_COUNT_WINDOW_SECONDS; i++) {
+            if (searchSeconds[i] > now - SEARCH_COUNT_WINDOW_SECONDS) {
+                count += searchCounts[i];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of generators of each type being tracked, as a string for diagnostics.
+     *
+     * @return the number of generators of each type being tracked
+     */
+    public String getGeneratorCounts() {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (GeneratorType type : GeneratorType.values()) {
+            joiner.add(type + ": " + tables[type.ordinal()].size());
+        }
+        return joiner.toString();
+    }
+
+    /**
+     * Returns whether the recorded armor stands are in the client's current world. If they are
+     * not, they are forgotten.
+     *
+     * @return whether the recorded armor stands are in the client's current world
+     */
+    private boolean isCurrent() {
+        ClientLevel currentLevel = Minecraft.getInstance().level;
+        if (currentLevel == null || currentLevel != level) {
+            if (level != null) {
+                clear();
+            }
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Classifies armor stands that have been named since they were added. Armor stands that have
+     * been removed, or whose names show that they are not part of a generator, are dropped, and so
+     * are labels of generators that are already in a table.
+     */
+    private void classifyPending() {
+        int i = 0;
+        while (i < pendingCount) {
+            int id = pending[i];
+            ArmorStand armorStand = getArmorStand(id);
+            if (armorStand != null && !armorStand.hasCustomName()) {
+                // Not named yet
+                i++;
+                continue;
+            }
+            // Removes the ID by moving the last ID into its place
+            pending[i] = pending[--pendingCount];
+            if (armorStand == null) {
+                continue;
+            }
+            Component name = armorStand.getDisplayName();
+            if (TIMER_TEXT.matches(name)) {
+                unpairedTimers = append(unpairedTimers, unpairedTimerCount++, id);
+                continue;
+            }
+            for (GeneratorType type : GeneratorType.values()) {
+                if (type.labelText.matches(name)) {
+                    GeneratorTable table = tables[type.ordinal()];
+                    // The label may come back into tracking range with the same ID
+                    if (table.indexOf(id) == -1) {
+                        table.add(id, armorStand.getX(), armorStand.getY(), armorStand.getZ());
+                    }
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes the closest armor stand showing a spawn time from the unpaired timers and returns its
+     * ID. Timers that have been removed are dropped along the way.
+     *
+     * @param label the armor stand showing a generator's name
+     * @return the ID of the timer, or {@code -1} if there is no unpaired timer close to the label
+     */
+    private int takeClosestTimer(ArmorStand label) {
+        int closest = -1;
+        double closestDistance = MAX_TIMER_DISTANCE_SQR;
+        int i = 0;
+        while (i < unpairedTimerCount) {
+            ArmorStand timer = getArmorStand(unpairedTimers[i]);
+            if (timer == null) {
+                unpairedTimers[i] = unpairedTimers[--unpairedTimerCount];
+                continue;
+            }
+            double distance = timer.distanceToSqr(label);
+            if (distance <= closestDistance) {
+                closest = i;
+                closestDistance = distance;
+            }
+            i++;
+        }
+        if (closest == -1) {
+            return -1;
+        }
+        int id = unpairedTimers[closest];
+        unpairedTimers[closest] = unpairedTimers[--unpairedTimerCount];
+        return id;
+    }
+
+    /**
+     * Returns the armor stand with an entity ID in the current world.
+     *
+     * @param id the entity ID, or {@code -1}
+     * @return the armor stand, or {@code null} if there is no such armor stand
+     */
+    private ArmorStand getArmorStand(int id) {
+        if (id == -1) {
+            return null;
+        }
+        Entity entity = level.getEntity(id);
+        if (entity instanceof ArmorStand armorStand && !entity.isRemoved()) {
+            return armorStand;
+        }
+        return null;
+    }
+
+    /**
+     * Reads the spawn time from the name of an armor stand showing a generator's spawn time.
+     *
+     * @param timerName the name
+     * @return the spawn time
+     */
+    private static int parseSpawnTime(Component timerName) {
+        String text = timerName.getString();
+        int time = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                time = time * 10 + (c - '0');
+            }
+        }
+        return time;
+    }
+
+    /**
+     * Puts a value into an array, growing the array if it is full.
+     *
+     * @param array the array
+     * @param index index to put the value at, which must be at most the array's length
+     * @param value the value
+     * @return the array, or a larger copy of it if it was full
+     */
+    private static int[] append(int[] array, int index, int value) {
+        if (index == array.length) {
+            array = Arrays.copyOf(array, array.length * 2);
+        }
+        array[index] = value;
+        return array;
+    }
+
+    /** A type of generator whose spawn times are tracked. */
+    public enum GeneratorType {
+        /** Diamond generators */
+        DIAMOND(StyledTextPattern.wholeRun("Diamond", ChatFormatting.AQUA, ChatFormatting.BOLD)),
+
+        /** Emerald generators */
+        EMERALD(
+                StyledTextPattern.wholeRun(
+                        "Emerald", ChatFormatting.DARK_GREEN, ChatFormatting.BOLD));
+
+        /** Text that only appears in the display name of a generator of this type */
+        private final StyledTextPattern labelText;
+
+        /**
+         * Constructs a new generator type.
+         *
+         * @param labelText text that only appears in the display name of a generator of the type
+         */
+        GeneratorType(StyledTextPattern labelText) {
+            this.labelText = labelText;
+        }
+    }
+}
@@ -0,0 +1,252 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.game;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * The generators of one type in the current world, stored in parallel arrays so that they can be
+ * walked without allocating or following references.
+ *
+ * <p>Each generator is identified by the entity ID of the armor stand showing its name (its
+ * label), and holds the entity ID of the armor stand showing its spawn time (its timer), the
+ * position of its label, and the spawn time last read from its timer. Generators are kept at
+ * indices {@code 0} to {@code size() - 1}; removing a generator moves the last generator into its
+ * place, so indices are only stable until the next removal. A generator can also be looked up
+ * by the entity ID of its label, so that the same label is never added twice.
+ *
+ * @author Ambossmann
+ */
+final class GeneratorTable {
+    /** Number of generators each array has room for at first */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /** Entity IDs of the labels */
+    private int[] labelIds;
+
+    /** Entity IDs of the timers, or {@code -1} for generators whose timer has not been found */
+    private int[] timerIds;
+
+    /** X coordinates of the labels */
+    private double[] xs;
+
+    /** Y coordinates of the labels */
+    private double[] ys;
+
+    /** Z coordinates of the labels */
+    private double[] zs;
+
+    /** Spawn times last read from the timers, or {@code -1} for timers never read */
+    private int[] countdowns;
+
+    /** Indices of the generators, keyed by the entity IDs of their labels */
+    private final Map<Integer, Integer> indices;
+
+    /** Number of generators */
+    private int size;
+
+    /** Number of times generators have been added or removed */
+    private int version;
+
+    /** Constructs a new, empty table. */
+    GeneratorTable() {
+        labelIds = new int[INITIAL_CAPACITY];
+        timerIds = new int[INITIAL_CAPACITY];
+        xs = new double[INITIAL_CAPACITY];
+        ys = new double[INITIAL_CAPACITY];
+        zs = new double[INITIAL_CAPACITY];
+        countdowns = new int[INITIAL_CAPACITY];
+        indices = new HashMap<>();
+    }
+
+    /**
+     * Returns the index of the generator with a label.
+     *
+     * @param labelId the entity ID of the label
+     * @return the index of the generator, or {@code -1} if no generator has the label
+     */
+    int indexOf(int labelId) {
+        Integer index = indices.get(labelId);
+        return index != null ? index : -1;
+    }
+
+    /**
+     * Adds a generator whose timer has not been found. The caller must make sure that no
+     * generator in this table has the label already.
+     *
+     * @param labelId the entity ID of the generator's label
+     * @param x the X coordinate of the label
+     * @param y the Y coordinate of the label
+     * @param z the Z coordinate of the label
+     */
+    void add(int labelId, double x, double y, double z) {
+        if (size == labelIds.length) {
+            int capacity = size * 2;
+            labelIds = Arrays.copyOf(labelIds, capacity);
+            timerIds = Arrays.copyOf(timerIds, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            zs = Arrays.copyOf(zs, capacity);
+            countdowns = Arrays.copyOf(countdowns, capacity);
+        }
+        labelIds[size] = labelId;
+        timerIds[size] = -1;
+        xs[size] = x;
+        ys[size] = y;
+        zs[size] = z;
+        countdowns[size] = -1;
+        indices.put(labelId, size);
+        size++;
+        version++;
+    }
+
+    /**
+     * Removes the generator at an index by moving the last generator into its place.
+     *
+     * @param index the index
+     */
+    void remove(int index) {
+        int last = --size;
+        indices.remove(labelIds[index]);
+        if (index != last) {
+            indices.put(labelIds[last], index);
+        }
+        labelIds[index] = labelIds[last];
+        timerIds[index] = timerIds[last];
+        xs[index] = xs[last];
+        ys[index] = ys[last];
+        zs[index] = zs[last];
+        countdowns[index] = countdowns[last];
+        version++;
+    }
+
+    /** Removes every generator. */
+    void clear() {
+        size = 0;
+        indices.clear();
+        version++;
+    }
+
+    /**
+     * Returns the number of generators.
+     *
+     * @return the number of generators
+     */
+    int size() {
+        return size;
+    }
+
+    /**
+     * Returns a number that changes whenever generators are added or removed, so that structures
+     * built from the positions of the generators can tell when they need to be rebuilt.
+     *
+     * @return a number that changes whenever generators are added or removed
+     */
+    int getVersion() {
+        return version;
+    }
+
+    /**
+     * Returns the entity ID of the label of the generator at an index.
+     *
+     * @param index the index
+     * @return the entity ID of the label
+     */
+    int getLabelId(int index) {
+        return labelIds[index];
+    }
+
+    /**
+     * Returns the entity ID of the timer of the generator at an index.
+     *
+     * @param index the index
+     * @return the entity ID of the timer, or {@code -1} if the timer has not been found
+     */
+    int getTimerId(int index) {
+        return timerIds[index];
+    }
+
+    /**
+     * Sets the entity ID of the timer of the generator at an index.
+     *
+     * @param index the index
+     * @param timerId the entity ID of the timer, or {@code -1} if the timer has not been found
+     */
+    void setTimerId(int index, int timerId) {
+        timerIds[index] = timerId;
+    }
+
+    /**
+     * Returns the X coordinate of the label of the generator at an index.
+     *
+     * @param index the index
+     * @return the X coordinate
+     */
+    double getX(int index) {
+        return xs[index];
+    }
+
+    /**
+     * Returns the Y coordinate of the label of the generator at an index.
+     *
+     * @param index the index
+     * @return the Y coordinate
+     */
+    double getY(int index) {
+        return ys[index];
+    }
+
+    /**
+     * Returns the Z coordinate of the label of the generator at an index.
+     *
+     * @param index the index
+     * @return the Z coordinate
+     */
+    double getZ(int index) {
+        return zs[index];
+    }
+
+    /**
+     * Returns the spawn time last read from the timer of the generator at an index.
+     *
+     * @param index the index
+     * @return the spawn time, or {@code -1} if it has never been read
+     */
+    int getCountdown(int index) {
+        return countdowns[index];
+    }
+
+    /**
+     * Sets the spawn time last read from the timer of the generator at an index.
+     *
+     * @param index the index
+     * @param countdown the spawn time
+     */
+    void setCountdown(int index, int countdown) {
+        countdowns[index] = countdown;
+    }
+}
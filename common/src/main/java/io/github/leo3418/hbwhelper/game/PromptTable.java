@@ -0,0 +1,309 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.game;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.google.gson.JsonSyntaxException;
+import io.github.leo3418.hbwhelper.HbwHelper;
+import io.github.leo3418.hbwhelper.util.StyledTextMatcher;
+import io.github.leo3418.hbwhelper.util.StyledTextPattern;
+import io.github.leo3418.hbwhelper.util.TextPrefilter;
+import io.github.leo3418.hbwhelper.util.TextRuns;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import net.minecraft.ChatFormatting;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.packs.resources.Resource;
+import net.minecraft.server.packs.resources.ResourceManager;
+import net.minecraft.util.GsonHelper;
+
+/**
+ * An immutable table of the {@linkplain StyledTextPattern patterns} that indicate each {@linkplain
+ * ChatPrompt chat prompt}, compiled into a matcher and a prefilter.
+ *
+ * <p>The patterns are read from the {@code assets/hbwhelper/prompts.json} resource, so they can be
+ * changed without a new build of this mod when Hypixel changes the wording of a prompt, either by
+ * a resource pack or by editing the resource. The resource is a JSON object like this:
+ *
+ * <pre>{@code
+ * {
+ *   "version": 1,
+ *   "prompts": [
+ *     {"action": "HEAL_POOL", "text": "Heal Pool", "formats": ["gold"], "anchor": "whole_run"}
+ *   ]
+ * }
+ * }</pre>
+ *
+ * <p>{@code action} is the name of a {@link ChatPrompt} constant; {@code formats} are names of
+ * {@link ChatFormatting} constants the text's run must have; {@code anchor} is {@code whole_run},
+ * {@code run_start} or {@code anywhere}, which corresponds to {@link
+ * StyledTextPattern#wholeRun(String, ChatFormatting...)}, {@link StyledTextPattern#runStart(String,
+ * ChatFormatting...)} and {@link StyledTextPattern#anywhere(String, ChatFormatting...)}
+ * respectively. An action may have more than one pattern.
+ *
+ * <p>The table built into this mod is loaded when this class is loaded. A new table can be loaded
+ * from the current resource packs with {@link #load(ResourceManager)} and then put in use with
+ * {@link #setCurrent(PromptTable)}, which replaces the {@linkplain #getCurrent() current table}
+ * atomically.
+ *
+ * @author Ambossmann
+ */
+public final class PromptTable {
+    /** The only version of the resource's format this class can read */
+    public static final int VERSION = 1;
+
+    /** Location of the resource */
+    public static final ResourceLocation LOCATION =
+            new ResourceLocation(HbwHelper.MOD_ID, "prompts.json");
+
+    /** The table in use */
+    private static volatile PromptTable current = loadBuiltIn();
+
+    /** The matcher for patterns of all prompts */
+    private final StyledTextMatcher<ChatPrompt> matcher;
+
+    /** The filter built from texts of patterns of all prompts */
+    private final TextPrefilter prefilter;
+
+    /** Number of patterns in this table */
+    private final int size;
+
+    /**
+     * Constructs a new {@code PromptTable} instance.
+     *
+     * @param patterns a map from each prompt to the patterns any of which indicates it
+     * @param size number of patterns in the map
+     */
+    private PromptTable(Map<ChatPrompt, List<StyledTextPattern>> patterns, int size) {
+        List<String> texts = new ArrayList<>(size);
+        for (List<StyledTextPattern> promptPatterns : patterns.values()) {
+            for (StyledTextPattern pattern : promptPatterns) {
+                texts.add(pattern.getText());
+            }
+        }
+        this.matcher = new StyledTextMatcher<>(ChatPrompt.class, patterns);
+        this.prefilter = new TextPrefilter(texts);
+        this.size = size;
+    }
+
+    /**
+     * Returns the table in use.
+     *
+     * @return the table in use
+     */
+    public static PromptTable getCurrent() {
+        return current;
+    }
+
+    /**
+     * Puts a table in use.
+     *
+     * @param table the table
+     * @throws NullPointerException if {@code table == null}
+     */
+    public static void setCurrent(PromptTable table) {
+        current = Objects.requireNonNull(table, "table");
+    }
+
+    /**
+     * Loads the table from the resource in the top-most resource pack that has it.
+     *
+     * @param resourceManager the resource manager of the client
+     * @return the table loaded
+     * @throws IOException if the resource cannot be found or read
+     * @throws JsonParseException if the resource is not a valid table
+     */
+    public static PromptTable load(ResourceManager resourceManager) throws IOException {
+        Resource resource =
+                resourceManager
+                        .getResource(LOCATION)
+                        .orElseThrow(() -> new IOException("Resource not found: " + LOCATION));
+        try (Reader reader = resource.openAsReader()) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * Loads the table built into this mod.
+     *
+     * @return the table built into this mod
+     * @throws IllegalStateException if the table cannot be loaded
+     */
+    private static PromptTable loadBuiltIn() {
+        String path = "/assets/" + LOCATION.getNamespace() + "/" + LOCATION.getPath();
+        try (InputStream in = PromptTable.class.getResourceAsStream(path)) {
+            if (in == null) {
+                throw new IOException("Resource not found: " + path);
+            }
+            return parse(new InputStreamReader(in, StandardCharsets.UTF_8));
+        } catch (IOException | JsonParseException e) {
+            throw new IllegalStateException("Failed to load built-in chat prompts", e);
+        }
+    }
+
+    /**
+     * Parses a table from JSON text.
+     *
+     * @param reader the reader of the JSON text
+     * @return the table parsed
+     * @throws JsonParseException if the JSON text is not a valid table
+     */
+    private static PromptTable parse(Reader reader) {
+        JsonObject root = GsonHelper.convertToJsonObject(JsonParser.parseReader(reader), "root");
+        int version = GsonHelper.getAsInt(root, "version");
+        if (version != VERSION) {
+            throw new JsonSyntaxException("Unsupported version: " + version);
+        }
+        Map<ChatPrompt, List<StyledTextPattern>> patterns = new EnumMap<>(ChatPrompt.class);
+        int size = 0;
+        for (JsonElement element : GsonHelper.getAsJsonArray(root, "prompts")) {
+            JsonObject entry = GsonHelper.convertToJsonObject(element, "prompt");
+            ChatPrompt action = parseAction(GsonHelper.getAsString(entry, "action"));
+            patterns.computeIfAbsent(action, k -> new ArrayList<>()).add(parsePattern(entry));
+            size++;
+        }
+        if (size == 0) {
+            throw new JsonSyntaxException("No prompt is defined");
+        }
+        for (ChatPrompt prompt : ChatPrompt.values()) {
+            if (!patterns.containsKey(prompt)) {
+                HbwHelper.LOGGER.warn("No pattern is defined for chat prompt {}", prompt);
+            }
+        }
+        return new PromptTable(patterns, size);
+    }
+
+    /**
+     * Returns the {@link ChatPrompt} constant with a name.
+     *
+     * @param name the name
+     * @return the {@code ChatPrompt} constant with the name
+     * @throws JsonSyntaxException if there is no such constant
+     */
+    private static ChatPrompt parseAction(String name) {
+        try {
+            return ChatPrompt.valueOf(name);
+        } catch (IllegalArgumentException e) {
+            throw new JsonSyntaxException("Unknown action: " + name, e);
+        }
+    }
+
+    /**
+     * Parses a pattern from an entry of the table.
+     *
+     * @param entry the entry
+     * @return the pattern parsed
+     * @throws JsonSyntaxException if the entry does not describe a valid pattern
+     */
+    private static StyledTextPattern parsePattern(JsonObject entry) {
+        String text = GsonHelper.getAsString(entry, "text");
+        JsonArray formatNames = GsonHelper.getAsJsonArray(entry, "formats", new JsonArray());
+        ChatFormatting[] formats = new ChatFormatting[formatNames.size()];
+        for (int i = 0; i < formats.length; i++) {
+            String name = GsonHelper.convertToString(formatNames.get(i), "format");
+            formats[i] = ChatFormatting.getByName(name);
+            if (formats[i] == null) {
+                throw new JsonSyntaxException("Unknown format: " + name);
+            }
+        }
+        String anchor = GsonHelper.getAsString(entry, "anchor", "anywhere");
+        try {
+            switch (anchor) {
+                case "whole_run":
+                    return StyledTextPattern.wholeRun(text, formats);
+                case "run_start":
+                    return StyledTextPattern.runStart(text, formats);
+                case "anywhere":
+                    return StyledTextPattern.anywhere(text, formats);
+                default:
+                    throw new JsonSyntaxException("Unknown anchor: " + anchor);
+            }
+        } catch (IllegalArgumentException e) {
+            throw new JsonSyntaxException("Invalid pattern for \"" + text + "\"", e);
+        }
+    }
+
+    /**
+     * Returns the number of patterns in this table.
+     *
+     * @return the number of patterns in this table
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns all prompts occurring in the text runs of a chat message, each mapped to the text
+     * following it up to the end of its run.
+     *
+     * <p>When more than one prompt occurs in the same message, classes using the result should give
+     * precedence to the prompt declared first in {@link ChatPrompt}.
+     *
+     * @param runs the text runs of the chat message
+     * @return an {@link EnumMap} from each prompt occurring in the text runs to the text following
+     *     it in the same run
+     * @throws NullPointerException if {@code runs == null}
+     */
+    public EnumMap<ChatPrompt, String> findAll(TextRuns runs) {
+        return matcher.findAll(runs);
+    }
+
+    /**
+     * Returns whether any prompt may occur in a chat message, judging only from the message's plain
+     * text. If this method returns {@code false}, {@link #findAll(TextRuns)} would not find any
+     * prompt in the message.
+     *
+     * <p>This method should only be called from the client thread.
+     *
+     * @param plainText the plain text of the chat message
+     * @return whether any prompt may occur in the chat message
+     * @throws NullPointerException if {@code plainText == null}
+     */
+    public boolean mayOccurIn(String plainText) {
+        return prefilter.mayContainAny(plainText);
+    }
+
+    /**
+     * Returns the filter used by {@link #mayOccurIn(String)}, which reports how many chat messages
+     * it has ruled out.
+     *
+     * @return the filter used by {@code mayOccurIn(String)}
+     */
+    public TextPrefilter getPrefilter() {
+        return prefilter;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Widget of {@link HudGui} that shows the player's armor and its Protection enchantment level.
+ * This widget is empty if the player does not wear armor.
+ *
+ * @author Ambossmann
+ */
+final class ArmorWidget extends HudWidget {
+    /** The {@link ItemStack} of the armor shown, or {@code null} if there is no armor */
+    private ItemStack armorStack;
+
+    /** Level of Protection enchantment on the armor shown */
+    private int protectionLevel;
+
+    @Override
+    boolean hasChanged() {
+        // The client replaces the ItemStack object whenever the server
+        // changes the armor, including its enchantments
+        HudSnapshot snapshot = HudSampler.getInstance().getSnapshot();
+        ItemStack stack = snapshot.getArmorStack();
+        boolean changed = stack != armorStack;
+        armorStack = stack;
+        protectionLevel = snapshot.getProtectionLevel();
+        return changed;
+    }
+
+    @Override
+    void build(HudDrawList drawList) {
+        if (armorStack != null) {
+            String level = "";
+            if (protectionLevel > 0) {
+                level = HudStrings.number(protectionLevel);
+            }
+            addItemIconAndString(drawList, armorStack, level);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import io.github.leo3418.hbwhelper.game.GameManager;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+/**
+ * Widget of {@link HudGui} that shows the level of "DeadShot" upgrade of the player's team. This
+ * widget is empty if the team has not unlocked the upgrade.
+ *
+ * <p>This widget must only be rendered when {@link GameManager#getInstance()} is not {@code null}.
+ *
+ * @author Ambossmann
+ */
+final class DeadShotWidget extends HudWidget {
+    /** The {@link ItemStack} for "DeadShot" */
+    private final ItemStack diamondHoe;
+
+    /** Level of "DeadShot" shown */
+    private int deadShotLevel;
+
+    /** Constructs a new instance of this widget. */
+    DeadShotWidget() {
+        diamondHoe = new ItemStack(Items.DIAMOND_HOE);
+    }
+
+    @Override
+    boolean hasChanged() {
+        int level = GameManager.getInstance().getDeadShotLevel();
+        boolean changed = level != deadShotLevel;
+        deadShotLevel = level;
+        return changed;
+    }
+
+    @Override
+    void build(HudDrawList drawList) {
+        if (deadShotLevel > 0) {
+            addItemIconAndString(drawList, diamondHoe, HudStrings.number(deadShotLevel));
+        }
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import io.github.leo3418.hbwhelper.util.EffectsReader;
+import java.util.Arrays;
+import net.minecraft.client.resources.language.I18n;
+import net.minecraft.core.registries.BuiltInRegistries;
+
+/**
+ * Widget of {@link HudGui} that shows the player's status effects and their remaining times.
+ *
+ * <p>When a status effect's remaining time is lower than {@link #WEAR_OUT_THRESHOLD}, the remaining
+ * time displayed starts to flash.
+ *
+ * @author Ambossmann
+ */
+final class EffectsWidget extends HudWidget {
+    /**
+     * Threshold of a status effect's remaining time in seconds that if the time is shorter than
+     * this value, the remaining time displayed starts flashing
+     */
+    private static final int WEAR_OUT_THRESHOLD = 5;
+
+    /**
+     * Time between color switching in milliseconds when a status effect's remaining time flashes
+     */
+    private static final int FLASH_INTERVAL = 500;
+
+    /**
+     * Color of a status effect's remaining time displayed when flashing, which is the color of
+     * formatting code {@code c}
+     */
+    private static final int FLASH_COLOR = 0xFF5555;
+
+    /** Number of {@code int}s describing each status effect in {@link #shown} */
+    private static final int FIELDS = 5;
+
+    /**
+     * Description of each status effect shown: its registry ID, displayed amplifier, duration in
+     * seconds, number of seconds in its displayed duration, and whether its duration is
+     * highlighted
+     */
+    private int[] shown;
+
+    /** Number of {@code int}s used in {@link #shown} */
+    private int shownLength;
+
+    /** Buffer for describing the current status effects, which is swapped with {@link #shown} */
+    private int[] current;
+
+    /** The snapshot the status effects shown are from */
+    private HudSnapshot snapshot;
+
+    /** Constructs a new instance of this widget. */
+    EffectsWidget() {
+        shown = new int[FIELDS * 4];
+        current = new int[FIELDS * 4];
+        shownLength = -1;
+    }
+
+    @Override
+    boolean hasChanged() {
+        // Expiring effects stay highlighted when the governor stops flashing
+        boolean flashOn =
+                HudGovernor.getInstance().isAtLeast(HudGovernor.Level.STATIC_EFFECTS)
+                        || System.currentTimeMillis() % (FLASH_INTERVAL * 2) < FLASH_INTERVAL;
+        snapshot = HudSampler.getInstance().getSnapshot();
+        int length = 0;
+        for (int i = 0; i < snapshot.getEffectCount(); i++) {
+            if (length + FIELDS > current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            int duration = snapshot.getDuration(i);
+            current[length++] = BuiltInRegistries.MOB_EFFECT.getId(snapshot.getEffect(i));
+            current[length++] = snapshot.getAmplifier(i);
+            current[length++] = duration;
+            current[length++] = snapshot.getDisplayedSeconds(i);
+            current[length++] = isHighlighted(duration, flashOn) ? 1 : 0;
+        }
+        boolean changed =
+                length != shownLength || !Arrays.equals(current, 0, length, shown, 0, length);
+        // Swaps the buffers, so the next frame writes over the old description
+        int[] previous = shown;
+        shown = current;
+        current = previous;
+        shownLength = length;
+        return changed;
+    }
+
+    /**
+     * Returns whether the remaining time of a status effect is highlighted.
+     *
+     * @param duration the status effect's duration in seconds, or {@code -1} if it has maximum
+     *     duration
+     * @param flashOn whether flashing remaining times are highlighted in this frame
+     * @return whether the remaining time of the status effect is highlighted
+     */
+    private static boolean isHighlighted(int duration, boolean flashOn) {
+        return duration == 0 || (duration > 0 && duration <= WEAR_OUT_THRESHOLD && flashOn);
+    }
+
+    @Override
+    void build(HudDrawList drawList) {
+        for (int i = 0; i < shownLength; i += FIELDS) {
+            String amplifier = null;
+            if (shown[i + 1] > 1) {
+                amplifier = HudStrings.number(shown[i + 1]);
+            }
+            int displayedSeconds = shown[i + 3];
+            String duration =
+                    displayedSeconds != -1
+                            ? HudStrings.duration(displayedSeconds)
+                            : I18n.get("effect.duration.infinite");
+            // Changes color of the remaining time string when the effect is
+            // expiring
+            int durationColor = shown[i + 4] != 0 ? FLASH_COLOR : TEXT_COLOR;
+            addEffectIconAndString(
+                    drawList,
+                    EffectsReader.getIcon(snapshot.getEffect(i / FIELDS)),
+                    amplifier,
+                    duration,
+                    durationColor);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import io.github.leo3418.hbwhelper.game.ForgeLevel;
+import io.github.leo3418.hbwhelper.game.GameManager;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+/**
+ * Widget of {@link HudGui} that shows the level of resource generation speed of the player's team.
+ *
+ * <p>This widget must only be rendered when {@link GameManager#getInstance()} is not {@code null}.
+ *
+ * @author Ambossmann
+ */
+final class ForgeWidget extends HudWidget {
+    /** The {@link ItemStack} for the forge */
+    private final ItemStack furnace;
+
+    /** The {@link ItemStack} for {@link ForgeLevel#IRON_FORGE} */
+    private final ItemStack ironIngot;
+
+    /** The {@link ItemStack} for {@link ForgeLevel#GOLDEN_FORGE} */
+    private final ItemStack goldIngot;
+
+    /** The {@link ItemStack} for {@link ForgeLevel#EMERALD_FORGE} */
+    private final ItemStack emerald;
+
+    /** The {@link ItemStack} for {@link ForgeLevel#MOLTEN_FORGE} */
+    private final ItemStack lavaBucket;
+
+    /** Icons in the line this widget shows */
+    private final ItemStack[] icons;
+
+    /** The forge level shown */
+    private ForgeLevel forgeLevel;
+
+    /** Constructs a new instance of this widget. */
+    ForgeWidget() {
+        furnace = new ItemStack(Items.FURNACE);
+        ironIngot = new ItemStack(Items.IRON_INGOT);
+        goldIngot = new ItemStack(Items.GOLD_INGOT);
+        emerald = new ItemStack(Items.EMERALD);
+        lavaBucket = new ItemStack(Items.LAVA_BUCKET);
+        icons = new ItemStack[2];
+    }
+
+    @Override
+    boolean hasChanged() {
+        ForgeLevel level = GameManager.getInstance().getForgeLevel();
+        boolean changed = level != forgeLevel;
+        forgeLevel = level;
+        return changed;
+    }
+
+    @Override
+    void build(HudDrawList drawList) {
+        int count = 0;
+        icons[count++] = furnace;
+        switch (forgeLevel) {
+            case ORDINARY_FORGE:
+                break;
+            case IRON_FORGE:
+                icons[count++] = ironIngot;
+                break;
+            case GOLDEN_FORGE:
+                icons[count++] = goldIngot;
+                break;
+            case EMERALD_FORGE:
+                icons[count++] = emerald;
+                break;
+            case MOLTEN_FORGE:
+                icons[count++] = lavaBucket;
+                break;
+        }
+        addItemIcons(drawList, icons, count);
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import io.github.leo3418.hbwhelper.game.GameManager;
+import net.minecraft.client.resources.language.I18n;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+/**
+ * Widget of {@link HudGui} that shows the time until the next diamond and emerald generation.
+ *
+ * <p>This widget must only be rendered when {@link GameManager#getInstance()} is not {@code null}.
+ *
+ * @author Ambossmann
+ */
+final class GeneratorsWidget extends HudWidget {
+    /** The {@link ItemStack} for diamonds */
+    private final ItemStack diamond;
+
+    /** The {@link ItemStack} for emeralds */
+    private final ItemStack emerald;
+
+    /** Spawn time of next diamond shown, or {@code -1} if no generator has been found */
+    private int nextDiamond;
+
+    /** Spawn time of next emerald shown, or {@code -1} if no generator has been found */
+    private int nextEmerald;
+
+    /** Constructs a new instance of this widget. */
+    GeneratorsWidget() {
+        diamond = new ItemStack(Items.DIAMOND);
+        emerald = new ItemStack(Items.EMERALD);
+    }
+
+    @Override
+    boolean hasChanged() {
+        HudSnapshot snapshot = HudSampler.getInstance().getSnapshot();
+        int diamondTime = snapshot.getNextDiamond();
+        int emeraldTime = snapshot.getNextEmerald();
+        boolean changed = diamondTime != nextDiamond || emeraldTime != nextEmerald;
+        nextDiamond = diamondTime;
+        nextEmerald = emeraldTime;
+        return changed;
+    }
+
+    @Override
+    void build(HudDrawList drawList) {
+        addItemIconAndString(drawList, diamond, toDisplayedTime(nextDiamond));
+        addItemIconAndString(drawList, emerald, toDisplayedTime(nextEmerald));
+    }
+
+    /**
+     * Returns the string shown for a spawn time.
+     *
+     * @param spawnTime the spawn time, or {@code -1} if no generator has been found
+     * @return the string shown for the spawn time
+     */
+    private static String toDisplayedTime(int spawnTime) {
+        if (spawnTime != -1) {
+            return HudStrings.countdown(spawnTime);
+        }
+        return I18n.get("hbwhelper.hudGui.findingGenerator");
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+/**
+ * Counts draw calls {@link HudGui} issues in a frame.
+ *
+ * <p>Besides the draw calls actually issued, the counter also counts the draw calls the same frame
+ * would issue if every icon and string were drawn and flushed on its own, as {@code HudGui} used to
+ * do, so the effect of batching can be observed in the diagnostics statistics.
+ *
+ * @author Ambossmann
+ */
+final class HudDrawCounter {
+    /** Draw calls issued in the current frame, not counting buffered text */
+    private int drawCalls;
+
+    /** Draw calls the current frame would issue without batching */
+    private int unbatchedDrawCalls;
+
+    /** Whether any string has been buffered in the current frame */
+    private boolean hasText;
+
+    /** Draw calls issued in the last finished frame */
+    private int lastDrawCalls;
+
+    /** Draw calls the last finished frame that replayed draw lists would issue without batching */
+    private int lastUnbatchedDrawCalls;
+
+    /** Starts counting a new frame. */
+    void reset() {
+        drawCalls = 0;
+        unbatchedDrawCalls = 0;
+        hasText = false;
+    }
+
+    /** Counts a draw call issued right away for an icon. */
+    void countDrawCall() {
+        drawCalls++;
+        unbatchedDrawCalls++;
+    }
+
+    /** Counts an icon or sprite added to a batch that is drawn later. */
+    void countBatched() {
+        unbatchedDrawCalls++;
+    }
+
+    /** Counts a string buffered until the end of the frame. */
+    void countText() {
+        hasText = true;
+        unbatchedDrawCalls++;
+    }
+
+    /** Counts a draw call that only exists because of batching or caching. */
+    void countBatchDrawCall() {
+        drawCalls++;
+    }
+
+    /**
+     * Counts draw calls that only exist because of batching.
+     *
+     * @param count number of draw calls
+     */
+    void countBatchDrawCalls(int count) {
+        drawCalls += count;
+    }
+
+    /**
+     * Finishes counting the current frame.
+     *
+     * @param replayed whether draw lists were replayed in the frame, which is false when a cached
+     *     image of {@code HudGui} was drawn
+     */
+    void finish(boolean replayed) {
+        // All buffered text is flushed together
+        lastDrawCalls = hasText ? drawCalls + 1 : drawCalls;
+        if (replayed) {
+            lastUnbatchedDrawCalls = unbatchedDrawCalls;
+        }
+    }
+
+    /**
+     * Returns the number of draw calls issued in the last frame.
+     *
+     * @return the number of draw calls issued in the last frame
+     */
+    int getDrawCalls() {
+        return lastDrawCalls;
+    }
+
+    /**
+     * Returns the number of draw calls the last frame would issue if every icon and string were
+     * drawn on its own.
+     *
+     * @return the number of draw calls the last frame would issue without batching
+     */
+    int getUnbatchedDrawCalls() {
+        return lastUnbatchedDrawCalls;
+    }
+}
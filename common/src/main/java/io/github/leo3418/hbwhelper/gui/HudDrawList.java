@@ -0,0 +1,233 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import java.util.Arrays;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.Font;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * A prepared list of things to draw on {@link HudGui}, which can be replayed on every frame without
+ * recomputing or allocating anything.
+ *
+ * <p>Positions of things in a draw list are relative to the top-left corner of the {@link
+ * HudWidget} that owns it, so a draw list stays valid when {@code HudGui} is moved. A draw list
+ * also records the height of the widget.
+ *
+ * <p>Arrays backing a draw list are reused when it is {@linkplain #clear() cleared}, so rebuilding
+ * a draw list does not allocate either once it has grown to its usual size.
+ *
+ * @author Ambossmann
+ */
+final class HudDrawList {
+    /** Kind of an operation that renders an item's icon, whose payload is an {@link ItemStack} */
+    private static final byte ITEM = 0;
+
+    /**
+     * Kind of an operation that renders a sprite from a texture atlas, whose payload is a {@link
+     * TextureAtlasSprite}
+     */
+    private static final byte SPRITE = 1;
+
+    /**
+     * Kind of an operation that renders a string, whose payload is a {@link
+     * HudTextCache.ShapedText}
+     */
+    private static final byte TEXT = 2;
+
+    /** Number of operations a new draw list has room for */
+    private static final int INITIAL_CAPACITY = 8;
+
+    /** Kind of each operation */
+    private byte[] kinds;
+
+    /** Horizontal position of each operation */
+    private int[] xs;
+
+    /** Vertical position of each operation */
+    private int[] ys;
+
+    /** Size of each sprite, or color of each string */
+    private int[] params;
+
+    /** The thing each operation renders */
+    private Object[] payloads;
+
+    /** Number of operations in this draw list */
+    private int size;
+
+    /** Height of the widget owning this draw list */
+    private int height;
+
+    /** Constructs a new, empty draw list. */
+    HudDrawList() {
+        kinds = new byte[INITIAL_CAPACITY];
+        xs = new int[INITIAL_CAPACITY];
+        ys = new int[INITIAL_CAPACITY];
+        params = new int[INITIAL_CAPACITY];
+        payloads = new Object[INITIAL_CAPACITY];
+    }
+
+    /** Removes all operations from this draw list and resets the height to {@code 0}. */
+    void clear() {
+        Arrays.fill(payloads, 0, size, null);
+        size = 0;
+        height = 0;
+    }
+
+    /**
+     * Returns the height of the widget owning this draw list.
+     *
+     * @return the height of the widget owning this draw list
+     */
+    int getHeight() {
+        return height;
+    }
+
+    /**
+     * Sets the height of the widget owning this draw list.
+     *
+     * @param height the height
+     */
+    void setHeight(int height) {
+        this.height = height;
+    }
+
+    /**
+     * Adds an operation that renders an item's icon.
+     *
+     * @param itemStack the {@link ItemStack} for the item
+     * @param x horizontal position of the icon
+     * @param y vertical position of the icon
+     */
+    void addItem(ItemStack itemStack, int x, int y) {
+        add(ITEM, x, y, 0, itemStack);
+    }
+
+    /**
+     * Adds an operation that renders a square sprite from a texture atlas.
+     *
+     * @param sprite the sprite
+     * @param x horizontal position of the sprite
+     * @param y vertical position of the sprite
+     * @param size width and height of the sprite
+     */
+    void addSprite(TextureAtlasSprite sprite, int x, int y, int size) {
+        add(SPRITE, x, y, size, sprite);
+    }
+
+    /**
+     * Adds an operation that renders a string. The string is laid out by {@link HudTextCache}
+     * right away, so replaying the operation does not lay it out again.
+     *
+     * @param text the string, which may contain formatting codes
+     * @param x horizontal position of the string
+     * @param y vertical position of the string
+     * @param color color of the string
+     */
+    void addText(String text, int x, int y, int color) {
+        add(TEXT, x, y, color, HudTextCache.getInstance().get(text));
+    }
+
+    /**
+     * Adds an operation.
+     *
+     * @param kind kind of the operation
+     * @param x horizontal position of the operation
+     * @param y vertical position of the operation
+     * @param param size of a sprite, or color of a string
+     * @param payload the thing the operation renders
+     */
+    private void add(byte kind, int x, int y, int param, Object payload) {
+        if (size == kinds.length) {
+            int capacity = size * 2;
+            kinds = Arrays.copyOf(kinds, capacity);
+            xs = Arrays.copyOf(xs, capacity);
+            ys = Arrays.copyOf(ys, capacity);
+            params = Arrays.copyOf(params, capacity);
+            payloads = Arrays.copyOf(payloads, capacity);
+        }
+        kinds[size] = kind;
+        xs[size] = x;
+        ys[size] = y;
+        params[size] = param;
+        payloads[size] = payload;
+        size++;
+    }
+
+    /**
+     * Renders every operation in this draw list. Icons of items in an {@link HudIconAtlas} are
+     * added to the atlas's current batch, and sprites are added to a {@link HudSpriteBatch},
+     * instead of being rendered right away.
+     *
+     * <p>Strings are buffered by {@code graphics} rather than drawn right away if this method is
+     * called inside {@link GuiGraphics#drawManaged(Runnable)}.
+     *
+     * @param graphics the {@link GuiGraphics} to render with
+     * @param iconAtlas the {@link HudIconAtlas} to draw icons of items from
+     * @param spriteBatch the {@link HudSpriteBatch} to add sprites to
+     * @param counter the {@link HudDrawCounter} to count draw calls with
+     * @param originX horizontal position of the top-left corner of the widget owning this list
+     * @param originY vertical position of the top-left corner of the widget owning this list
+     */
+    void draw(
+            GuiGraphics graphics,
+            HudIconAtlas iconAtlas,
+            HudSpriteBatch spriteBatch,
+            HudDrawCounter counter,
+            int originX,
+            int originY) {
+        Font font = Minecraft.getInstance().font;
+        for (int i = 0; i < size; i++) {
+            int x = originX + xs[i];
+            int y = originY + ys[i];
+            switch (kinds[i]) {
+                case ITEM -> {
+                    ItemStack itemStack = (ItemStack) payloads[i];
+                    if (iconAtlas.add(graphics, itemStack, x, y)) {
+                        counter.countBatched();
+                    } else {
+                        graphics.renderFakeItem(itemStack, x, y);
+                        counter.countDrawCall();
+                    }
+                }
+                case SPRITE -> {
+                    spriteBatch.add(
+                            graphics, (TextureAtlasSprite) payloads[i], x, y, params[i]);
+                    counter.countBatched();
+                }
+                case TEXT -> {
+                    graphics.drawString(
+                            font, (HudTextCache.ShapedText) payloads[i], x, y, params[i]);
+                    counter.countText();
+                }
+                default -> throw new IllegalStateException("Unknown operation: " + kinds[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import io.github.leo3418.hbwhelper.ConfigManager;
+import io.github.leo3418.hbwhelper.diagnostics.Diagnostics;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lowers the quality of {@link HudGui} step by step while the client's frame times are too long,
+ * and raises it back once they recover.
+ *
+ * <p>The governor averages the time between frames over every {@link #EVALUATION_INTERVAL}. If the
+ * average is longer than the {@linkplain ConfigManager#adaptiveHudDegradeMillis() degrade
+ * threshold}, the HUD goes down one {@linkplain Level level}; if it is shorter than the {@linkplain
+ * ConfigManager#adaptiveHudRecoverMillis() recover threshold}, the HUD goes up one level. Each
+ * level keeps the degradations of the levels above it.
+ *
+ * <p>The governor only acts when {@linkplain ConfigManager#adaptiveHud() enabled}; otherwise, the
+ * HUD always has {@linkplain Level#FULL full} quality.
+ *
+ * <p>This is a Singleton class. Only one instance of this class may be created per runtime. It
+ * must only be used on the render thread.
+ *
+ * @author Ambossmann
+ */
+public class HudGovernor {
+    /** Time in nanoseconds frame times are averaged over before the level may change */
+    private static final long EVALUATION_INTERVAL = TimeUnit.SECONDS.toNanos(1);
+
+    /**
+     * Frame times longer than this many nanoseconds are ignored, because they are not caused by
+     * rendering, for example when the game is paused or loading a world
+     */
+    private static final long MAX_FRAME_TIME = TimeUnit.SECONDS.toNanos(1);
+
+    /** The only instance of this class */
+    private static final HudGovernor INSTANCE = new HudGovernor();
+
+    /** The {@link ConfigManager} of this mod */
+    private final ConfigManager configManager;
+
+    /** Number of times the HUD has gone down to each level */
+    private final long[] degradationCounts;
+
+    /** The current level */
+    private Level level;
+
+    /** Time of the last frame, or {@code 0} if there has been no frame yet */
+    private long lastFrame;
+
+    /** Start of the current evaluation interval */
+    private long intervalStart;
+
+    /** Sum of frame times in the current evaluation interval */
+    private long frameTimeSum;
+
+    /** Number of frames in the current evaluation interval */
+    private int frameCount;
+
+    /**
+     * Implementation of Singleton design pattern, which allows only one instance of this class to
+     * be created.
+     */
+    private HudGovernor() {
+        configManager = ConfigManager.getInstance();
+        degradationCounts = new long[Level.values().length];
+        level = Level.FULL;
+    }
+
+    /**
+     * Returns the instance of this class.
+     *
+     * @return the instance of this class
+     */
+    public static HudGovernor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records that a frame is being rendered, and changes the level if an evaluation interval has
+     * passed.
+     *
+     * <p>This method should be called once per frame.
+     */
+    void onFrame() {
+        if (!configManager.adaptiveHud()) {
+            if (level != Level.FULL) {
+                changeLevel(Level.FULL);
+            }
+            lastFrame = 0;
+            return;
+        }
+        long now = System.nanoTime();
+        if (lastFrame == 0) {
+            intervalStart = now;
+        } else if (now - lastFrame <= MAX_FRAME_TIME) {
+            frameTimeSum += now - lastFrame;
+            frameCount++;
+        }
+        lastFrame = now;
+        if (now - intervalStart >= EVALUATION_INTERVAL) {
+            evaluate();
+            intervalStart = now;
+            frameTimeSum = 0;
+            frameCount = 0;
+        }
+    }
+
+    /** Moves one level down or up depending on the average frame time of the last interval. */
+    private void evaluate() {
+        if (frameCount == 0) {
+            return;
+        }
+        long averageFrameTime = frameTimeSum / frameCount;
+        Level[] levels = Level.values();
+        if (averageFrameTime > millisToNanos(configManager.adaptiveHudDegradeMillis())) {
+            if (level.ordinal() < levels.length - 1) {
+                changeLevel(levels[level.ordinal() + 1]);
+            }
+        } else if (averageFrameTime < millisToNanos(configManager.adaptiveHudRecoverMillis())) {
+            if (level.ordinal() > 0) {
+                changeLevel(levels[level.ordinal() - 1]);
+            }
+        }
+    }
+
+    /**
+     * Changes the current level, counting it if it is a degradation.
+     *
+     * @param newLevel the new level
+     */
+    private void changeLevel(Level newLevel) {
+        if (newLevel.ordinal() > level.ordinal()) {
+            degradationCounts[newLevel.ordinal()]++;
+        }
+        Diagnostics.getInstance()
+                .log(Diagnostics.Level.INFO, "HUD quality: {} -> {}", level, newLevel);
+        level = newLevel;
+    }
+
+    /**
+     * Converts milliseconds to nanoseconds.
+     *
+     * @param millis the milliseconds
+     * @return the nanoseconds
+     */
+    private static long millisToNanos(int millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Returns the current level.
+     *
+     * @return the current level
+     */
+    public Level getLevel() {
+        return level;
+    }
+
+    /**
+     * Returns whether the current level is at least as degraded as a level.
+     *
+     * @param other the level
+     * @return whether the current level is at least as degraded as {@code other}
+     */
+    boolean isAtLeast(Level other) {
+        return level.ordinal() >= other.ordinal();
+    }
+
+    /**
+     * Returns how many times the HUD has gone down to each level, as a string for diagnostics.
+     *
+     * @return how many times the HUD has gone down to each level
+     */
+    public String getDegradationCounts() {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (Level each : Level.values()) {
+            if (each != Level.FULL) {
+                joiner.add(each + ": " + degradationCounts[each.ordinal()]);
+            }
+        }
+        return joiner.toString();
+    }
+
+    /** A level of quality of {@link HudGui}, from the highest to the lowest. */
+    public enum Level {
+        /** Everything is updated and rendered as configured */
+        FULL,
+
+        /** Information is read from the world at most {@link HudSampler#REDUCED_SAMPLE_RATE} Hz */
+        REDUCED_REFRESH,
+
+        /** Expiring status effects are highlighted without flashing */
+        STATIC_EFFECTS,
+
+        /** The HUD is rendered into a cache and redrawn only when it changes */
+        CACHED
+    }
+}
@@ -25,29 +25,37 @@
  */
 package io.github.leo3418.hbwhelper.gui;
 
-import com.mojang.blaze3d.systems.RenderSystem;
 import io.github.leo3418.hbwhelper.ConfigManager;
-import io.github.leo3418.hbwhelper.game.CountedTrap;
+import io.github.leo3418.hbwhelper.diagnostics.Profiler;
 import io.github.leo3418.hbwhelper.game.GameManager;
-import io.github.leo3418.hbwhelper.util.ArmorReader;
-import io.github.leo3418.hbwhelper.util.EffectsReader;
 import io.github.leo3418.hbwhelper.util.GameDetector;
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.gui.GuiGraphics;
 import net.minecraft.client.gui.screens.ChatScreen;
-import net.minecraft.client.renderer.texture.TextureAtlasSprite;
-import net.minecraft.client.resources.language.I18n;
-import net.minecraft.world.effect.MobEffectInstance;
-import net.minecraft.world.item.ItemStack;
-
-import java.util.ArrayList;
-import java.util.List;
-
-import static net.minecraft.world.item.Items.*;
 
 /**
  * The GUI of this mod shown in Minecraft's Head-Up Display (HUD).
  * <p>
+ * The GUI is made up of {@linkplain HudWidget widgets} stacked from top to
+ * bottom, each of which rebuilds what it draws only when the information it
+ * shows changes.
+ * <p>
+ * If {@linkplain ConfigManager#cacheHud() enabled}, the whole GUI is rendered
+ * into a {@linkplain HudRenderCache cache} only when any widget, the layout
+ * or the GUI scale changes, and every frame draws the cache with a single
+ * textured quad instead. Animations of item icons, like the glint of
+ * enchanted armor, pause between changes in this mode.
+ * <p>
+ * Icons of items are drawn from a {@linkplain HudIconAtlas texture atlas}
+ * that is built once after resources are loaded, in a single batch for the
+ * whole GUI. Strings are {@linkplain HudTextCache laid out} when a widget
+ * rebuilds what it draws, and are buffered and flushed together once per
+ * frame.
+ * <p>
+ * While frame times are too long, the {@linkplain HudGovernor governor} may
+ * lower the quality of this GUI, up to rendering it into the cache even if
+ * caching is not enabled.
+ * <p>
  * This is a Singleton class. Only one instance of this class may be created
  * per runtime.
  *
@@ -57,70 +65,116 @@ import static net.minecraft.world.item.Items.*;
  */
 public class HudGui {
     /**
-     * Color of text displayed on this GUI
+     * The only instance of this class
      */
-    private static final int TEXT_COLOR = 0xFFFFFF;
+    private static final HudGui INSTANCE = new HudGui();
 
     /**
-     * Height of a line of text on this GUI
+     * The instance of Minecraft client
      */
-    private static final int LINE_HEIGHT = 10;
+    private final Minecraft mc;
 
     /**
-     * Height of icon of an item
+     * The {@link GameDetector} instance
      */
-    private static final int ITEM_ICON_SIZE = 16;
+    private final GameDetector gameDetector;
 
     /**
-     * Height of icon of a status effect
+     * The {@link ConfigManager} of this mod
      */
-    private static final int EFFECT_ICON_SIZE = 18;
+    private final ConfigManager configManager;
 
     /**
-     * Threshold of a status effect's remaining time in seconds that if the
-     * time is shorter than this value, the remaining time displayed starts
-     * flashing
+     * Widget showing time until the next diamond and emerald generation
      */
-    private static final int WEAR_OUT_THRESHOLD = 5;
+    private GeneratorsWidget generatorsWidget;
 
     /**
-     * Time between color switching in milliseconds when a status effect's
-     * remaining time flashes
+     * Widgets showing team upgrades, from top to bottom
      */
-    private static final int FLASH_INTERVAL = 500;
+    private HudWidget[] upgradeWidgets;
 
     /**
-     * Color code which changes the color of a status effect's remaining time
-     * displayed when flashing
-     * <p>
-     * The Unicode encoding for the section sign ({@code §}) must be used in
-     * place of the section sign because Minecraft does not permit directly
-     * using the section sign in most places in-game.
-     *
-     * @see <a href="https://minecraft.gamepedia.com/Formatting_codes#Use_in_server.properties_and_pack.mcmeta"
-     *         target="_top">Relevant information on Minecraft Wiki</a>
+     * Widget showing the player's armor
      */
-    private static final String FLASH_COLOR_PREFIX = "\u00A7c";
+    private ArmorWidget armorWidget;
 
     /**
-     * The only instance of this class
+     * Widget showing the player's status effects
      */
-    private static final HudGui INSTANCE = new HudGui();
+    private EffectsWidget effectsWidget;
 
     /**
-     * The instance of Minecraft client
+     * Atlas of icons of items shown on this GUI
      */
-    private final Minecraft mc;
+    private final HudIconAtlas iconAtlas;
 
     /**
-     * The {@link GameDetector} instance
+     * Batch of icons of status effects drawn in the current frame
      */
-    private final GameDetector gameDetector;
+    private final HudSpriteBatch spriteBatch;
 
     /**
-     * The {@link ConfigManager} of this mod
+     * Counter of draw calls this GUI issues
      */
-    private final ConfigManager configManager;
+    private final HudDrawCounter drawCounter;
+
+    /**
+     * Cache of the rendered GUI
+     */
+    private final HudRenderCache renderCache;
+
+    /**
+     * Widgets shown in the current frame, from top to bottom
+     */
+    private final HudWidget[] shownWidgets;
+
+    /**
+     * {@linkplain Profiler.Section Section} each widget in
+     * {@link #shownWidgets} is measured in
+     */
+    private final Profiler.Section[] shownSections;
+
+    /**
+     * Number of widgets in {@link #shownWidgets}
+     */
+    private int shownCount;
+
+    /**
+     * Widgets in {@link #renderCache}, from top to bottom
+     */
+    private final HudWidget[] cachedWidgets;
+
+    /**
+     * Number of widgets in {@link #cachedWidgets}
+     */
+    private int cachedCount;
+
+    /**
+     * Position of this GUI's left edge when {@link #renderCache} was rendered
+     */
+    private int cachedX;
+
+    /**
+     * Position of this GUI's top edge when {@link #renderCache} was rendered
+     */
+    private int cachedY;
+
+    /**
+     * Time spent on each {@linkplain Profiler.Section section} of widgets in
+     * the current frame, in nanoseconds
+     */
+    private final long[] sectionNanos;
+
+    /**
+     * The {@link Profiler} instance
+     */
+    private final Profiler profiler;
+
+    /**
+     * The {@link HudGovernor} instance
+     */
+    private final HudGovernor governor;
 
     /**
      * Height of the next line of text that would be rendered
@@ -135,6 +189,17 @@ public class HudGui {
         mc = Minecraft.getInstance();
         gameDetector = GameDetector.getInstance();
         configManager = ConfigManager.getInstance();
+        iconAtlas = new HudIconAtlas();
+        spriteBatch = new HudSpriteBatch();
+        drawCounter = new HudDrawCounter();
+        renderCache = new HudRenderCache();
+        // Generators, four team upgrade widgets, armor and effects
+        shownWidgets = new HudWidget[7];
+        cachedWidgets = new HudWidget[shownWidgets.length];
+        shownSections = new Profiler.Section[shownWidgets.length];
+        sectionNanos = new long[Profiler.Section.values().length];
+        profiler = Profiler.getInstance();
+        governor = HudGovernor.getInstance();
         currentHeight = configManager.hudY();
     }
 
@@ -153,258 +218,274 @@ public class HudGui {
      * This method should be called whenever {@link RenderGuiOverlayEvent.Post}
      * is fired.
      *
-     * @param event    the event called when an element on the HUD is rendered
-     * @param graphics
+     * @param graphics the {@link GuiGraphics} to render with
      */
     public void render(GuiGraphics graphics) {
+        long start = profiler.start();
+        governor.onFrame();
+        drawCounter.reset();
         /*
         To prevent elements on this mod covering chat box contents and debug
         information, the HUD only renders when neither chat screen nor debug
         screen shows.
          */
         if (shouldRender()) {
+            if (generatorsWidget == null) {
+                createWidgets();
+            }
+            HudTextCache.getInstance().validate();
+            shownCount = 0;
             if (gameDetector.isIn()) {
-                renderGameInfo(graphics);
-                renderArmorInfo(graphics);
-                renderEffectsInfo(graphics);
+                renderGameInfo();
+                renderArmorInfo();
+                renderEffectsInfo();
             } else if (configManager.alwaysShowEffects()) {
-                renderEffectsInfo(graphics);
+                renderEffectsInfo();
+            }
+            iconAtlas.prepare(graphics);
+            if (configManager.cacheHud()
+                    || governor.isAtLeast(HudGovernor.Level.CACHED)) {
+                renderCached(graphics);
+            } else {
+                renderCache.release();
+                for (int i = 0; i < shownCount; i++) {
+                    updateWidget(i);
+                }
+                graphics.drawManaged(() -> drawWidgets(graphics));
+                drawCounter.finish(true);
             }
             // Resets height of the first line in the next rendering
             currentHeight = configManager.hudY();
+            if (start != 0) {
+                recordSections();
+                profiler.end(Profiler.Section.HUD_RENDER, start);
+            }
+        } else {
+            drawCounter.finish(true);
         }
     }
 
     /**
-     * Returns whether this GUI should be rendered.
+     * Returns the number of draw calls this GUI issued in the last frame.
      *
-     * @return whether this GUI should be rendered
+     * @return the number of draw calls this GUI issued in the last frame
      */
-    private boolean shouldRender() {
-        return !(mc.screen instanceof ChatScreen)
-                && !mc.getDebugOverlay().showDebugScreen();
+    public int getDrawCalls() {
+        return drawCounter.getDrawCalls();
+    }
+
+    /**
+     * Returns the number of draw calls this GUI would issue in the last frame
+     * if every icon and string were drawn on its own without batching or
+     * caching.
+     *
+     * @return the number of draw calls this GUI would issue in the last frame
+     *         without batching
+     */
+    public int getUnbatchedDrawCalls() {
+        return drawCounter.getUnbatchedDrawCalls();
     }
 
     /**
-     * Renders the player's armor information on this GUI.
+     * Renders the shown widgets into {@link #renderCache} if anything in it
+     * would change, then draws the cache on screen.
+     *
+     * @param graphics the {@link GuiGraphics} to render with
      */
-    private void renderArmorInfo(GuiGraphics graphics) {
-        if (configManager.showArmorInfo() && ArmorReader.hasArmor()) {
-            // If the player has armor, checks its enchantment
-            int enchantmentLevel = ArmorReader.getProtectionLevel();
-            String level = "";
-            if (enchantmentLevel > 0) {
-                level += enchantmentLevel;
+    private void renderCached(GuiGraphics graphics) {
+        boolean dirty = !renderCache.isValid()
+                || cachedX != configManager.hudX()
+                || cachedY != configManager.hudY()
+                || cachedCount != shownCount;
+        for (int i = 0; i < shownCount; i++) {
+            // Every widget must be updated to record its current information
+            dirty |= updateWidget(i);
+            dirty |= cachedWidgets[i] != shownWidgets[i];
+        }
+        if (dirty) {
+            renderCache.begin(graphics);
+            graphics.drawManaged(() -> drawWidgets(graphics));
+            renderCache.end(graphics);
+            System.arraycopy(shownWidgets, 0, cachedWidgets, 0, shownCount);
+            cachedCount = shownCount;
+            cachedX = configManager.hudX();
+            cachedY = configManager.hudY();
+        } else {
+            for (int i = 0; i < shownCount; i++) {
+                currentHeight += shownWidgets[i].getHeight();
             }
-            drawItemIconAndString(graphics, ArmorReader.getArmorStack(), level);
         }
+        if (currentHeight > cachedY) {
+            renderCache.blit(graphics, cachedY, currentHeight);
+            drawCounter.countBatchDrawCall();
+        }
+        drawCounter.finish(dirty);
     }
 
     /**
-     * Renders the player's effects information on this GUI.
+     * Draws every widget shown in the current frame, which must have been
+     * updated, under the previous element on this GUI.
      * <p>
-     * When a status effect's remaining time is lower than
-     * {@link HudGui#WEAR_OUT_THRESHOLD}, the remaining time displayed on this
-     * GUI starts to flash.
+     * This method should be called inside {@link GuiGraphics#drawManaged}, so
+     * all strings are flushed together after it returns. Icons of items from
+     * {@link #iconAtlas} and icons of status effects are drawn in batches
+     * before this method returns.
+     *
+     * @param graphics the {@link GuiGraphics} to render with
      */
-    private void renderEffectsInfo(GuiGraphics graphics) {
-        if (configManager.showEffectsInfo()) {
-            for (MobEffectInstance potionEffect : EffectsReader.getEffects()) {
-                TextureAtlasSprite icon = EffectsReader.getIcon(potionEffect);
+    private void drawWidgets(GuiGraphics graphics) {
+        for (int i = 0; i < shownCount; i++) {
+            long start = profiler.start();
+            currentHeight += shownWidgets[i].draw(graphics, iconAtlas,
+                    spriteBatch, drawCounter, configManager.hudX(),
+                    currentHeight);
+            addSectionTime(i, start);
+        }
+        if (iconAtlas.flush()) {
+            drawCounter.countBatchDrawCall();
+        }
+        drawCounter.countBatchDrawCalls(spriteBatch.flush());
+    }
 
-                String effectInfo = "";
-                int amplifier = EffectsReader.getDisplayedAmplifier(potionEffect);
-                if (amplifier > 1) {
-                    effectInfo += amplifier + " ";
-                }
-                int duration = EffectsReader.getDuration(potionEffect);
-                String displayedDuration =
-                        EffectsReader.getDisplayedDuration(potionEffect);
-                // Changes color of the remaining time string when the effect
-                // is expiring
-                if (duration == 0 || (duration > 0 && duration <= WEAR_OUT_THRESHOLD
-                        && System.currentTimeMillis() % (FLASH_INTERVAL * 2)
-                        < FLASH_INTERVAL)) {
-                    displayedDuration = FLASH_COLOR_PREFIX + displayedDuration
-                            + "\u00A7r";
-                }
-                effectInfo += displayedDuration;
+    /**
+     * Updates a widget shown in the current frame.
+     *
+     * @param index index of the widget in {@link #shownWidgets}
+     * @return whether the widget has rebuilt what it draws
+     */
+    private boolean updateWidget(int index) {
+        long start = profiler.start();
+        boolean updated = shownWidgets[index].update();
+        addSectionTime(index, start);
+        return updated;
+    }
 
-                drawEffectIconAndString(graphics, icon, effectInfo);
-            }
+    /**
+     * Adds the time spent on a widget since a {@linkplain Profiler#start()
+     * start time} to the {@linkplain Profiler.Section section} the widget is
+     * in.
+     *
+     * @param index index of the widget in {@link #shownWidgets}
+     * @param start the start time, or {@code 0} if profiling is disabled
+     */
+    private void addSectionTime(int index, long start) {
+        if (start != 0) {
+            sectionNanos[shownSections[index].ordinal()] +=
+                    System.nanoTime() - start;
         }
     }
 
     /**
-     * Renders information of the current game session on this GUI.
+     * Records the time spent on each {@linkplain Profiler.Section section} of
+     * widgets shown in the current frame into the profiler.
      */
-    private void renderGameInfo(GuiGraphics graphics) {
-        GameManager game = GameManager.getInstance();
-        if (game != null) {
-            if (configManager.showGenerationTimes()) {
-                String nextDiamond;
-                if (game.getNextDiamond() != -1) {
-                    nextDiamond = game.getNextDiamond() + "s";
-                } else {
-                    nextDiamond =
-                            I18n.get("hbwhelper.hudGui.findingGenerator");
-                }
-                String nextEmerald;
-                if (game.getNextEmerald() != -1) {
-                    nextEmerald = game.getNextEmerald() + "s";
-                } else {
-                    nextEmerald =
-                            I18n.get("hbwhelper.hudGui.findingGenerator");
-                }
-                drawItemIconAndString(graphics, new ItemStack(DIAMOND), nextDiamond);
-                drawItemIconAndString(graphics, new ItemStack(EMERALD), nextEmerald);
+    private void recordSections() {
+        for (int i = 0; i < shownCount; i++) {
+            Profiler.Section section = shownSections[i];
+            // Widgets of a section are next to each other
+            if (i == shownCount - 1 || shownSections[i + 1] != section) {
+                profiler.record(section, sectionNanos[section.ordinal()]);
+                sectionNanos[section.ordinal()] = 0;
             }
+        }
+    }
 
-            if (configManager.showTeamUpgrades()) {
-                // Level of resource generation speed
-                List<ItemStack> itemsForForgeLevels = new ArrayList<>(2);
-                itemsForForgeLevels.add(new ItemStack(FURNACE));
-                switch (game.getForgeLevel()) {
-                    case ORDINARY_FORGE:
-                        break;
-                    case IRON_FORGE:
-                        itemsForForgeLevels.add(new ItemStack(IRON_INGOT));
-                        break;
-                    case GOLDEN_FORGE:
-                        itemsForForgeLevels.add(new ItemStack(GOLD_INGOT));
-                        break;
-                    case EMERALD_FORGE:
-                        itemsForForgeLevels.add(new ItemStack(EMERALD));
-                        break;
-                    case MOLTEN_FORGE:
-                        itemsForForgeLevels.add(new ItemStack(LAVA_BUCKET));
-                        break;
-                }
-                drawItemIcons(graphics, itemsForForgeLevels);
-
-                // "Heal Pool" and "Dragon Buff"
-                List<ItemStack> itemsForUpgrades = new ArrayList<>();
-                if (game.hasHealPool()) {
-                    itemsForUpgrades.add(new ItemStack(BEACON));
-                }
-                if (game.hasDragonBuff()) {
-                    itemsForUpgrades.add(new ItemStack(DRAGON_EGG));
-                }
-                drawItemIcons(graphics, itemsForUpgrades);
-
-                // "DeadShot"
-                int deadShotLevelInt = game.getDeadShotLevel();
-                String deadShotLevelString;
-                if (deadShotLevelInt > 0) {
-                    deadShotLevelString = Integer.toString(deadShotLevelInt);
-                    drawItemIconAndString(graphics, new ItemStack(DIAMOND_HOE), deadShotLevelString);
-                }
+    /**
+     * Shows a widget on this GUI in the current frame, under the widgets
+     * already shown.
+     *
+     * @param widget  the widget
+     * @param section the {@linkplain Profiler.Section section} the widget's
+     *                rendering time is measured in
+     */
+    private void show(HudWidget widget, Profiler.Section section) {
+        shownSections[shownCount] = section;
+        shownWidgets[shownCount++] = widget;
+    }
 
-                // Trap queue
-                List<ItemStack> itemsForTraps =
-                        new ArrayList<>(GameManager.MAX_TRAPS + 1);
-                itemsForTraps.add(new ItemStack(LEATHER));
-                for (CountedTrap countedTrap : game.getTraps()) {
-                    switch (countedTrap.getTrapType()) {
-                        case ORDINARY:
-                            itemsForTraps.add(new ItemStack(TRIPWIRE_HOOK));
-                            break;
-                        case COUNTER:
-                            itemsForTraps.add(new ItemStack(FEATHER));
-                            break;
-                        case ALARM:
-                            itemsForTraps.add(new ItemStack(REDSTONE_TORCH));
-                            break;
-                        case MINER_FATIGUE:
-                            itemsForTraps.add(new ItemStack(IRON_PICKAXE));
-                            break;
-                    }
-                }
-                drawItemIcons(graphics, itemsForTraps);
+    /**
+     * Forces every widget of this GUI to rebuild what it draws, and the atlas
+     * of icons of items to be rebuilt, on the next frame, and discards strings
+     * laid out for this GUI.
+     * <p>
+     * This method should be called when resources like translations and
+     * textures are reloaded.
+     */
+    public void invalidate() {
+        if (generatorsWidget != null) {
+            generatorsWidget.invalidate();
+            for (HudWidget widget : upgradeWidgets) {
+                widget.invalidate();
             }
+            armorWidget.invalidate();
+            effectsWidget.invalidate();
         }
+        iconAtlas.invalidate();
+        HudTextCache.getInstance().clear();
     }
 
     /**
-     * Renders icon of a status effect with a string to its right on this GUI.
-     * <p>
-     * The icon aligns this GUI's left edge, and it is under the previous
-     * element on this GUI. The string's color is defined by
-     * {@link #TEXT_COLOR}.
+     * Creates the widgets of this GUI.
      * <p>
-     * After this element is rendered, sets height of the next element to be
-     * directly below this element.
-     *
-     * @param graphics
-     * @param icon     the status effect's icon
-     * @param text     the text to be rendered
-     */
-    private void drawEffectIconAndString(GuiGraphics graphics, TextureAtlasSprite icon, String text) {
-        mc.getTextureManager()
-                .bindForSetup(icon.atlasLocation());
-        // Removes black background of the first icon rendered
-        RenderSystem.enableBlend();
-        graphics.blit(configManager.hudX(), currentHeight,
-                0,
-                EFFECT_ICON_SIZE, EFFECT_ICON_SIZE, icon);
-        graphics.drawString(mc.font, " " + text,
-                EFFECT_ICON_SIZE + configManager.hudX(),
-                currentHeight + (EFFECT_ICON_SIZE - LINE_HEIGHT) / 2 + 1,
-                TEXT_COLOR);
-        currentHeight += EFFECT_ICON_SIZE + 1;
+     * The widgets are created on the first frame rather than when this class
+     * is loaded because they create {@code ItemStack}s, which requires items
+     * to be registered.
+     */
+    private void createWidgets() {
+        generatorsWidget = new GeneratorsWidget();
+        upgradeWidgets = new HudWidget[]{
+                new ForgeWidget(),
+                new UpgradesWidget(),
+                new DeadShotWidget(),
+                new TrapsWidget()
+        };
+        armorWidget = new ArmorWidget();
+        effectsWidget = new EffectsWidget();
     }
 
     /**
-     * Renders an icon of an item with a string to its right on this GUI.
-     * <p>
-     * The icon aligns this GUI's left edge, and it is under the previous
-     * element on this GUI. The string's color is defined by
-     * {@link #TEXT_COLOR}.
-     * <p>
-     * After this element is rendered, sets height of the next element to be
-     * directly below this element.
+     * Returns whether this GUI should be rendered.
      *
-     * @param graphics
-     * @param itemStack the {@link ItemStack} for the item
-     * @param text      the text to be rendered
-     */
-    private void drawItemIconAndString(GuiGraphics graphics, ItemStack itemStack, String text) {
-//        Lighting.turnBackOn();
-        graphics.renderFakeItem(itemStack,
-                configManager.hudX() + (EFFECT_ICON_SIZE - ITEM_ICON_SIZE) / 2,
-                currentHeight);
-//        Lighting.turnOff();
-        graphics.drawString(mc.font, " " + text,
-                ITEM_ICON_SIZE + configManager.hudX(),
-                currentHeight + (ITEM_ICON_SIZE - LINE_HEIGHT) / 2 + 1,
-                TEXT_COLOR);
-        currentHeight += ITEM_ICON_SIZE + 1;
+     * @return whether this GUI should be rendered
+     */
+    private boolean shouldRender() {
+        return !(mc.screen instanceof ChatScreen)
+                && !mc.getDebugOverlay().showDebugScreen();
     }
 
     /**
-     * Renders icons of a {@link List} of items on this GUI in a single line.
-     * <p>
-     * The first icon aligns this GUI's left edge. The icons are under the
-     * previous element on this GUI.
-     * <p>
-     * After the icons are rendered, sets height of the next element to be
-     * directly below these icons.
-     *
-     * @param graphics
-     * @param itemStacks the {@code List} of {@link ItemStack} for each item
-     */
-    private void drawItemIcons(GuiGraphics graphics, List<ItemStack> itemStacks) {
-        int currentWidth = configManager.hudX()
-                + (EFFECT_ICON_SIZE - ITEM_ICON_SIZE) / 2;
-//        Lighting.turnBackOn();
-        for (ItemStack itemStack : itemStacks) {
-            graphics.renderFakeItem(itemStack,
-                    currentWidth, currentHeight);
-            currentWidth += ITEM_ICON_SIZE + 1;
+     * Shows the player's armor information on this GUI in the current frame.
+     */
+    private void renderArmorInfo() {
+        if (configManager.showArmorInfo()) {
+            show(armorWidget, Profiler.Section.ARMOR_INFO);
         }
-//        Lighting.turnOff();
-        if (!itemStacks.isEmpty()) {
-            currentHeight += ITEM_ICON_SIZE + 1;
+    }
+
+    /**
+     * Shows the player's effects information on this GUI in the current
+     * frame.
+     */
+    private void renderEffectsInfo() {
+        if (configManager.showEffectsInfo()) {
+            show(effectsWidget, Profiler.Section.EFFECTS_INFO);
+        }
+    }
+
+    /**
+     * Shows information of the current game session on this GUI in the
+     * current frame.
+     */
+    private void renderGameInfo() {
+        if (GameManager.getInstance() != null) {
+            if (configManager.showGenerationTimes()) {
+                show(generatorsWidget, Profiler.Section.GAME_INFO);
+            }
+            if (configManager.showTeamUpgrades()) {
+                for (HudWidget widget : upgradeWidgets) {
+                    show(widget, Profiler.Section.GAME_INFO);
+                }
+            }
         }
     }
 }
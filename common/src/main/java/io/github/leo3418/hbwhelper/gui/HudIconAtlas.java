@@ -0,0 +1,241 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import com.mojang.blaze3d.pipeline.RenderTarget;
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.platform.Window;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import com.mojang.blaze3d.vertex.VertexSorting;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+import org.joml.Matrix4f;
+
+/**
+ * A texture holding the icon of every item {@link HudGui} may show, so the icons can be drawn as
+ * plain textured quads in a single batch instead of going through the item model and lighting
+ * path on every frame.
+ *
+ * <p>The icons are rendered into an offscreen {@link RenderTarget} at the current GUI scale, so
+ * they look exactly like icons rendered directly. The atlas is rebuilt on the next frame after it
+ * is {@linkplain #invalidate() invalidated} because resource packs have been reloaded, and
+ * whenever the GUI scale changes.
+ *
+ * <p>Only plain item stacks can be drawn from the atlas. Stacks with NBT data, like enchanted or
+ * dyed armor, are rendered as usual, because their icons may differ from the plain item's and
+ * enchantment glint is animated.
+ *
+ * <p>This class must only be used on the render thread.
+ *
+ * @author Ambossmann
+ */
+final class HudIconAtlas {
+    /** Number of icons in a row of the atlas */
+    private static final int COLUMNS = 6;
+
+    /** Width and height of an icon in the atlas, before the GUI scale is applied */
+    private static final int CELL_SIZE = HudWidget.ITEM_ICON_SIZE;
+
+    /** Index of each item in the atlas */
+    private final Map<Item, Integer> indices;
+
+    /** Builder for the quads drawn from the atlas in the current batch */
+    private final BufferBuilder builder;
+
+    /** The offscreen target, or {@code null} if the atlas has not been built */
+    private RenderTarget target;
+
+    /** Number of rows in the atlas */
+    private int rows;
+
+    /** GUI scale the atlas was built at */
+    private double guiScale;
+
+    /** Whether the atlas must be rebuilt regardless of the GUI scale */
+    private boolean invalid;
+
+    /** Whether {@link #builder} has quads that have not been drawn */
+    private boolean building;
+
+    /** Constructs a new atlas that will be built on the first frame. */
+    HudIconAtlas() {
+        indices = new IdentityHashMap<>();
+        builder = new BufferBuilder(256);
+        invalid = true;
+    }
+
+    /**
+     * Returns the items whose icons are in the atlas.
+     *
+     * <p>The items are not stored in a constant because they must be registered before they are
+     * used.
+     *
+     * @return the items whose icons are in the atlas
+     */
+    private static Item[] getItems() {
+        return new Item[] {
+            Items.DIAMOND,
+            Items.EMERALD,
+            Items.FURNACE,
+            Items.IRON_INGOT,
+            Items.GOLD_INGOT,
+            Items.LAVA_BUCKET,
+            Items.BEACON,
+            Items.DRAGON_EGG,
+            Items.DIAMOND_HOE,
+            Items.LEATHER,
+            Items.TRIPWIRE_HOOK,
+            Items.FEATHER,
+            Items.REDSTONE_TORCH,
+            Items.IRON_PICKAXE,
+            Items.LEATHER_BOOTS,
+            Items.CHAINMAIL_BOOTS,
+            Items.IRON_BOOTS,
+            Items.DIAMOND_BOOTS
+        };
+    }
+
+    /** Forces the atlas to be rebuilt on the next frame, for example because textures changed. */
+    void invalidate() {
+        invalid = true;
+    }
+
+    /**
+     * Rebuilds the atlas if it has been invalidated or the GUI scale has changed.
+     *
+     * <p>This method must be called before anything of {@link HudGui} is rendered in a frame, and
+     * outside of a batch.
+     *
+     * @param graphics the {@link GuiGraphics} the GUI is rendered with
+     */
+    void prepare(GuiGraphics graphics) {
+        Minecraft mc = Minecraft.getInstance();
+        Window window = mc.getWindow();
+        if (!invalid && target != null && guiScale == window.getGuiScale()) {
+            return;
+        }
+        invalid = false;
+        guiScale = window.getGuiScale();
+        Item[] items = getItems();
+        rows = (items.length + COLUMNS - 1) / COLUMNS;
+        int width = COLUMNS * CELL_SIZE;
+        int height = rows * CELL_SIZE;
+        int pixelWidth = (int) Math.ceil(width * guiScale);
+        int pixelHeight = (int) Math.ceil(height * guiScale);
+
+        // Draws whatever is buffered for the main target before switching
+        graphics.flush();
+        if (target == null) {
+            target = new TextureTarget(pixelWidth, pixelHeight, true, Minecraft.ON_OSX);
+            target.setClearColor(0, 0, 0, 0);
+        } else if (target.width != pixelWidth || target.height != pixelHeight) {
+            target.resize(pixelWidth, pixelHeight, Minecraft.ON_OSX);
+        }
+        target.clear(Minecraft.ON_OSX);
+        target.bindWrite(true);
+        RenderSystem.backupProjectionMatrix();
+        RenderSystem.setProjectionMatrix(
+                new Matrix4f().setOrtho(0, width, height, 0, 1000, 21000),
+                VertexSorting.ORTHOGRAPHIC_Z);
+
+        indices.clear();
+        for (int i = 0; i < items.length; i++) {
+            graphics.renderFakeItem(
+                    new ItemStack(items[i]), i % COLUMNS * CELL_SIZE, i / COLUMNS * CELL_SIZE);
+            indices.put(items[i], i);
+        }
+
+        graphics.flush();
+        RenderSystem.restoreProjectionMatrix();
+        mc.getMainRenderTarget().bindWrite(true);
+    }
+
+    /**
+     * Adds a quad for an item's icon to the current batch if the atlas has the icon.
+     *
+     * @param graphics the {@link GuiGraphics} to render with
+     * @param itemStack the {@link ItemStack} for the item
+     * @param x horizontal position of the icon
+     * @param y vertical position of the icon
+     * @return whether the atlas has the icon; if not, the caller must render the icon itself
+     */
+    boolean add(GuiGraphics graphics, ItemStack itemStack, int x, int y) {
+        if (target == null || itemStack.hasTag()) {
+            return false;
+        }
+        Integer index = indices.get(itemStack.getItem());
+        if (index == null) {
+            return false;
+        }
+        if (!building) {
+            builder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+            building = true;
+        }
+        // The texture's origin is at its bottom-left corner
+        float left = (float) (index % COLUMNS) / COLUMNS;
+        float right = left + 1f / COLUMNS;
+        float top = 1 - (float) (index / COLUMNS) / rows;
+        float bottom = top - 1f / rows;
+        Matrix4f matrix = graphics.pose().last().pose();
+        builder.vertex(matrix, x, y, 0).uv(left, top).endVertex();
+        builder.vertex(matrix, x, y + CELL_SIZE, 0).uv(left, bottom).endVertex();
+        builder.vertex(matrix, x + CELL_SIZE, y + CELL_SIZE, 0).uv(right, bottom).endVertex();
+        builder.vertex(matrix, x + CELL_SIZE, y, 0).uv(right, top).endVertex();
+        return true;
+    }
+
+    /**
+     * Draws every quad added to the current batch with a single draw call, ending the batch.
+     *
+     * @return whether there was any quad to draw
+     */
+    boolean flush() {
+        if (!building) {
+            return false;
+        }
+        building = false;
+        RenderSystem.setShader(GameRenderer::getPositionTexShader);
+        RenderSystem.setShaderTexture(0, target.getColorTextureId());
+        // Colors in the atlas are premultiplied by alpha like in HudRenderCache
+        RenderSystem.enableBlend();
+        RenderSystem.blendFunc(
+                GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+        BufferUploader.drawWithShader(builder.end());
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.disableBlend();
+        return true;
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import com.mojang.blaze3d.pipeline.RenderTarget;
+import com.mojang.blaze3d.pipeline.TextureTarget;
+import com.mojang.blaze3d.platform.GlStateManager;
+import com.mojang.blaze3d.platform.Window;
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.Tesselator;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import org.joml.Matrix4f;
+
+/**
+ * An offscreen {@link RenderTarget} that holds a rendered image of {@link HudGui}, so the GUI can
+ * be drawn with a single textured quad on frames where its content has not changed.
+ *
+ * <p>The target has the same size as the window's framebuffer, so the GUI is rendered into it with
+ * the same projection as on screen and looks exactly the same. It is cleared to transparent black
+ * before each rendering; with Minecraft's default blending, colors in it are then premultiplied by
+ * alpha, so it is drawn on screen with premultiplied-alpha blending.
+ *
+ * <p>This class must only be used on the render thread.
+ *
+ * @author Ambossmann
+ */
+final class HudRenderCache {
+    /** The offscreen target, or {@code null} if it has not been created or has been released */
+    private RenderTarget target;
+
+    /** GUI scale the content of {@link #target} was rendered at */
+    private double guiScale;
+
+    /**
+     * Returns whether the content of this cache can be drawn on the current window as it is, which
+     * is false if the content has never been rendered or the window's size or GUI scale has
+     * changed since then.
+     *
+     * @return whether the content of this cache can be drawn on the current window
+     */
+    boolean isValid() {
+        Window window = Minecraft.getInstance().getWindow();
+        return target != null
+                && target.width == window.getWidth()
+                && target.height == window.getHeight()
+                && guiScale == window.getGuiScale();
+    }
+
+    /**
+     * Clears this cache and starts rendering into it. Everything drawn with {@code graphics} after
+     * this method returns and before {@link #end(GuiGraphics)} is called goes into this cache.
+     *
+     * @param graphics the {@link GuiGraphics} the GUI is rendered with
+     */
+    void begin(GuiGraphics graphics) {
+        Minecraft mc = Minecraft.getInstance();
+        Window window = mc.getWindow();
+        // Draws whatever is buffered for the main target before switching
+        graphics.flush();
+        if (target == null) {
+            target =
+                    new TextureTarget(
+                            window.getWidth(), window.getHeight(), true, Minecraft.ON_OSX);
+            target.setClearColor(0, 0, 0, 0);
+        } else if (target.width != window.getWidth() || target.height != window.getHeight()) {
+            target.resize(window.getWidth(), window.getHeight(), Minecraft.ON_OSX);
+        }
+        guiScale = window.getGuiScale();
+        target.clear(Minecraft.ON_OSX);
+        target.bindWrite(true);
+    }
+
+    /**
+     * Finishes rendering into this cache and switches back to the main target.
+     *
+     * @param graphics the {@link GuiGraphics} the GUI is rendered with
+     */
+    void end(GuiGraphics graphics) {
+        graphics.flush();
+        Minecraft.getInstance().getMainRenderTarget().bindWrite(true);
+    }
+
+    /**
+     * Draws a horizontal band of the content of this cache on screen at the same position it was
+     * rendered at.
+     *
+     * @param graphics the {@link GuiGraphics} to draw with
+     * @param top GUI-scaled vertical position of the top of the band
+     * @param bottom GUI-scaled vertical position of the bottom of the band
+     */
+    void blit(GuiGraphics graphics, int top, int bottom) {
+        Window window = Minecraft.getInstance().getWindow();
+        float width = window.getGuiScaledWidth();
+        float height = window.getGuiScaledHeight();
+        // The texture's origin is at its bottom-left corner
+        float topV = 1 - top / height;
+        float bottomV = 1 - bottom / height;
+        Matrix4f matrix = graphics.pose().last().pose();
+        RenderSystem.setShader(GameRenderer::getPositionTexShader);
+        RenderSystem.setShaderTexture(0, target.getColorTextureId());
+        RenderSystem.enableBlend();
+        RenderSystem.blendFunc(
+                GlStateManager.SourceFactor.ONE, GlStateManager.DestFactor.ONE_MINUS_SRC_ALPHA);
+        BufferBuilder builder = Tesselator.getInstance().getBuilder();
+        builder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+        builder.vertex(matrix, 0, top, 0).uv(0, topV).endVertex();
+        builder.vertex(matrix, 0, bottom, 0).uv(0, bottomV).endVertex();
+        builder.vertex(matrix, width, bottom, 0).uv(1, bottomV).endVertex();
+        builder.vertex(matrix, width, top, 0).uv(1, topV).endVertex();
+        BufferUploader.drawWithShader(builder.end());
+        RenderSystem.defaultBlendFunc();
+        RenderSystem.disableBlend();
+    }
+
+    /** Releases the offscreen target. */
+    void release() {
+        if (target != null) {
+            target.destroyBuffers();
+            target = null;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import io.github.leo3418.hbwhelper.ConfigManager;
+import io.github.leo3418.hbwhelper.diagnostics.Profiler;
+import io.github.leo3418.hbwhelper.game.GameManager;
+import io.github.leo3418.hbwhelper.util.ArmorReader;
+import io.github.leo3418.hbwhelper.util.EffectsReader;
+import io.github.leo3418.hbwhelper.util.GameDetector;
+import java.util.Arrays;
+import java.util.Collection;
+import net.minecraft.client.Minecraft;
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.effect.MobEffectInstance;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * Reads the information {@link HudGui} shows from the world on client ticks, and records it in an
+ * immutable {@link HudSnapshot} that rendering reads.
+ *
+ * <p>The information is read {@linkplain ConfigManager#hudSampleRate() a configurable number of
+ * times per second}, rounded to whole ticks, or less often if {@link HudGovernor} has reduced the
+ * refresh rate.
+ *
+ * <p>This is a Singleton class. Only one instance of this class may be created per runtime.
+ *
+ * @author Ambossmann
+ */
+public class HudSampler {
+    /** Number of client ticks in a second */
+    private static final int TICKS_PER_SECOND = 20;
+
+    /**
+     * Highest number of times per second information is read while {@link HudGovernor} has
+     * {@linkplain HudGovernor.Level#REDUCED_REFRESH reduced the refresh rate}
+     */
+    static final int REDUCED_SAMPLE_RATE = 4;
+
+    /** The only instance of this class */
+    private static final HudSampler INSTANCE = new HudSampler();
+
+    /** The {@link ConfigManager} of this mod */
+    private final ConfigManager configManager;
+
+    /** The {@link GameDetector} instance */
+    private final GameDetector gameDetector;
+
+    /** The {@link Profiler} instance */
+    private final Profiler profiler;
+
+    /** The latest snapshot */
+    private HudSnapshot snapshot;
+
+    /** Number of client ticks until the next snapshot is taken */
+    private int ticksUntilSample;
+
+    /** Number of times the world has been read */
+    private long sampleCount;
+
+    /** Buffer for the kind of each status effect read */
+    private MobEffect[] effects;
+
+    /** Buffer for the displayed amplifier of each status effect read */
+    private int[] amplifiers;
+
+    /** Buffer for the duration of each status effect read in seconds */
+    private int[] durations;
+
+    /** Buffer for the number of seconds in the displayed duration of each status effect read */
+    private int[] displayedSeconds;
+
+    /**
+     * Implementation of Singleton design pattern, which allows only one instance of this class to
+     * be created.
+     */
+    private HudSampler() {
+        configManager = ConfigManager.getInstance();
+        gameDetector = GameDetector.getInstance();
+        profiler = Profiler.getInstance();
+        snapshot = HudSnapshot.EMPTY;
+        effects = new MobEffect[0];
+        amplifiers = new int[0];
+        durations = new int[0];
+        displayedSeconds = new int[0];
+    }
+
+    /**
+     * Returns the instance of this class.
+     *
+     * @return the instance of this class
+     */
+    public static HudSampler getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Takes a new snapshot if it is time to do so.
+     *
+     * <p>This method should be called on every client tick.
+     */
+    public void tick() {
+        if (--ticksUntilSample > 0) {
+            return;
+        }
+        int sampleRate = configManager.hudSampleRate();
+        if (HudGovernor.getInstance().isAtLeast(HudGovernor.Level.REDUCED_REFRESH)) {
+            sampleRate = Math.min(sampleRate, REDUCED_SAMPLE_RATE);
+        }
+        ticksUntilSample = Math.max(1, TICKS_PER_SECOND / sampleRate);
+        long start = profiler.start();
+        snapshot = sample();
+        profiler.end(Profiler.Section.HUD_SAMPLE, start);
+        sampleCount++;
+    }
+
+    /**
+     * Returns the number of times the world has been read.
+     *
+     * @return the number of times the world has been read
+     */
+    public long getSampleCount() {
+        return sampleCount;
+    }
+
+    /**
+     * Returns the latest snapshot.
+     *
+     * @return the latest snapshot
+     */
+    HudSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Reads the information {@link HudGui} shows from the world.
+     *
+     * <p>If the information is the same as in the latest snapshot, that snapshot is returned, so
+     * nothing is allocated until some information, such as the number of seconds a status effect
+     * lasts, changes.
+     *
+     * @return a snapshot of the information
+     */
+    private HudSnapshot sample() {
+        if (Minecraft.getInstance().player == null) {
+            return HudSnapshot.EMPTY;
+        }
+
+        int nextDiamond = -1;
+        int nextEmerald = -1;
+        GameManager game = GameManager.getInstance();
+        // Generators are only looked for when their times would be shown
+        if (game != null && gameDetector.isIn() && configManager.showGenerationTimes()) {
+            long start = profiler.start();
+            nextDiamond = game.getNextDiamond();
+            nextEmerald = game.getNextEmerald();
+            profiler.end(Profiler.Section.GENERATOR_LOOKUP, start);
+        }
+
+        ItemStack armorStack = null;
+        int protectionLevel = -1;
+        if (ArmorReader.hasArmor()) {
+            armorStack = ArmorReader.getArmorStack();
+            protectionLevel = ArmorReader.getProtectionLevel();
+        }
+
+        Collection<MobEffectInstance> activeEffects = EffectsReader.getEffects();
+        int count = activeEffects.size();
+        if (count > effects.length) {
+            effects = new MobEffect[count];
+            amplifiers = new int[count];
+            durations = new int[count];
+            displayedSeconds = new int[count];
+        }
+        int i = 0;
+        for (MobEffectInstance potionEffect : activeEffects) {
+            effects[i] = potionEffect.getEffect();
+            amplifiers[i] = EffectsReader.getDisplayedAmplifier(potionEffect);
+            durations[i] = EffectsReader.getDuration(potionEffect);
+            displayedSeconds[i] = EffectsReader.getDisplayedSeconds(potionEffect);
+            i++;
+        }
+
+        if (snapshot != HudSnapshot.EMPTY
+                && nextDiamond == snapshot.getNextDiamond()
+                && nextEmerald == snapshot.getNextEmerald()
+                && armorStack == snapshot.getArmorStack()
+                && protectionLevel == snapshot.getProtectionLevel()
+                && effectsMatch(count)) {
+            return snapshot;
+        }
+        return new HudSnapshot(
+                nextDiamond,
+                nextEmerald,
+                armorStack,
+                protectionLevel,
+                Arrays.copyOf(effects, count),
+                Arrays.copyOf(amplifiers, count),
+                Arrays.copyOf(durations, count),
+                Arrays.copyOf(displayedSeconds, count));
+    }
+
+    /**
+     * Returns whether the status effects just read are the same as in the latest snapshot.
+     *
+     * @param count number of status effects just read
+     * @return whether the status effects just read are the same as in the latest snapshot
+     */
+    private boolean effectsMatch(int count) {
+        if (count != snapshot.getEffectCount()) {
+            return false;
+        }
+        for (int i = 0; i < count; i++) {
+            if (effects[i] != snapshot.getEffect(i)
+                    || amplifiers[i] != snapshot.getAmplifier(i)
+                    || durations[i] != snapshot.getDuration(i)
+                    || displayedSeconds[i] != snapshot.getDisplayedSeconds(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
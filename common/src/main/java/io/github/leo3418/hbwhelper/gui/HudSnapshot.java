@@ -0,0 +1,192 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import net.minecraft.world.effect.MobEffect;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * An immutable record of the information {@link HudGui} shows that has to be read from the world,
+ * taken by {@link HudSampler} on a client tick.
+ *
+ * <p>Rendering only reads snapshots, so the cost of reading the world does not depend on the frame
+ * rate, and nothing is changed from inside rendering.
+ *
+ * @author Ambossmann
+ */
+final class HudSnapshot {
+    /** A snapshot for when the client is not in a Minecraft world */
+    static final HudSnapshot EMPTY =
+            new HudSnapshot(
+                    -1, -1, null, -1, new MobEffect[0], new int[0], new int[0], new int[0]);
+
+    /** Spawn time of next diamond, or {@code -1} if no generator has been found */
+    private final int nextDiamond;
+
+    /** Spawn time of next emerald, or {@code -1} if no generator has been found */
+    private final int nextEmerald;
+
+    /** The player's armor, or {@code null} if the player does not wear armor */
+    private final ItemStack armorStack;
+
+    /** Level of Protection enchantment on the player's armor */
+    private final int protectionLevel;
+
+    /** Kind of each of the player's status effects */
+    private final MobEffect[] effects;
+
+    /** Displayed amplifier of each of the player's status effects */
+    private final int[] amplifiers;
+
+    /** Duration of each of the player's status effects in seconds, or {@code -1} if maximum */
+    private final int[] durations;
+
+    /**
+     * Number of seconds in the duration of each of the player's status effects as shown in the
+     * client, or {@code -1} if maximum
+     */
+    private final int[] displayedSeconds;
+
+    /**
+     * Constructs a new snapshot. The arrays are not copied, so they must not be modified after
+     * this constructor is called.
+     *
+     * @param nextDiamond spawn time of next diamond, or {@code -1} if no generator has been found
+     * @param nextEmerald spawn time of next emerald, or {@code -1} if no generator has been found
+     * @param armorStack the player's armor, or {@code null} if the player does not wear armor
+     * @param protectionLevel level of Protection enchantment on the player's armor
+     * @param effects kind of each of the player's status effects
+     * @param amplifiers displayed amplifier of each status effect
+     * @param durations duration of each status effect in seconds, or {@code -1} if maximum
+     * @param displayedSeconds number of seconds in the duration of each status effect as shown in
+     *     the client, or {@code -1} if maximum
+     */
+    HudSnapshot(
+            int nextDiamond,
+            int nextEmerald,
+            ItemStack armorStack,
+            int protectionLevel,
+            MobEffect[] effects,
+            int[] amplifiers,
+            int[] durations,
+            int[] displayedSeconds) {
+        this.nextDiamond = nextDiamond;
+        this.nextEmerald = nextEmerald;
+        this.armorStack = armorStack;
+        this.protectionLevel = protectionLevel;
+        this.effects = effects;
+        this.amplifiers = amplifiers;
+        this.durations = durations;
+        this.displayedSeconds = displayedSeconds;
+    }
+
+    /**
+     * Returns spawn time of next diamond, or {@code -1} if no generator has been found.
+     *
+     * @return spawn time of next diamond, or {@code -1} if no generator has been found
+     */
+    int getNextDiamond() {
+        return nextDiamond;
+    }
+
+    /**
+     * Returns spawn time of next emerald, or {@code -1} if no generator has been found.
+     *
+     * @return spawn time of next emerald, or {@code -1} if no generator has been found
+     */
+    int getNextEmerald() {
+        return nextEmerald;
+    }
+
+    /**
+     * Returns the player's armor, or {@code null} if the player does not wear armor.
+     *
+     * @return the player's armor, or {@code null} if the player does not wear armor
+     */
+    ItemStack getArmorStack() {
+        return armorStack;
+    }
+
+    /**
+     * Returns the level of Protection enchantment on the player's armor.
+     *
+     * @return the level of Protection enchantment on the player's armor
+     */
+    int getProtectionLevel() {
+        return protectionLevel;
+    }
+
+    /**
+     * Returns the number of the player's status effects.
+     *
+     * @return the number of the player's status effects
+     */
+    int getEffectCount() {
+        return effects.length;
+    }
+
+    /**
+     * Returns the kind of a status effect.
+     *
+     * @param index index of the status effect
+     * @return the kind of the status effect
+     */
+    MobEffect getEffect(int index) {
+        return effects[index];
+    }
+
+    /**
+     * Returns the displayed amplifier of a status effect.
+     *
+     * @param index index of the status effect
+     * @return the displayed amplifier of the status effect
+     */
+    int getAmplifier(int index) {
+        return amplifiers[index];
+    }
+
+    /**
+     * Returns the duration of a status effect in seconds, or {@code -1} if it has maximum duration.
+     *
+     * @param index index of the status effect
+     * @return the duration of the status effect in seconds, or {@code -1} if it has maximum
+     *     duration
+     */
+    int getDuration(int index) {
+        return durations[index];
+    }
+
+    /**
+     * Returns the number of seconds in the duration of a status effect as shown in the client, or
+     * {@code -1} if it has maximum duration.
+     *
+     * @param index index of the status effect
+     * @return the number of seconds in the duration of the status effect as shown in the client,
+     *     or {@code -1} if it has maximum duration
+     */
+    int getDisplayedSeconds(int index) {
+        return displayedSeconds[index];
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import com.mojang.blaze3d.systems.RenderSystem;
+import com.mojang.blaze3d.vertex.BufferBuilder;
+import com.mojang.blaze3d.vertex.BufferUploader;
+import com.mojang.blaze3d.vertex.DefaultVertexFormat;
+import com.mojang.blaze3d.vertex.VertexFormat;
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.GameRenderer;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.resources.ResourceLocation;
+import org.joml.Matrix4f;
+
+/**
+ * A batch of quads for sprites from a texture atlas, like the icons of status effects, which are
+ * drawn together with a single texture bind, blend state and draw call.
+ *
+ * <p>All sprites in a batch must be from the same atlas. If a sprite from another atlas is added,
+ * the quads already in the batch are drawn first.
+ *
+ * <p>This class must only be used on the render thread.
+ *
+ * @author Ambossmann
+ */
+final class HudSpriteBatch {
+    /** Builder for the quads in the batch */
+    private final BufferBuilder builder;
+
+    /** The atlas of the sprites in the batch, or {@code null} if the batch is empty */
+    private ResourceLocation atlas;
+
+    /** Number of draw calls issued because sprites from another atlas were added */
+    private int extraDrawCalls;
+
+    /** Constructs a new, empty batch. */
+    HudSpriteBatch() {
+        builder = new BufferBuilder(256);
+    }
+
+    /**
+     * Adds a quad for a square sprite to the batch.
+     *
+     * @param graphics the {@link GuiGraphics} to render with
+     * @param sprite the sprite
+     * @param x horizontal position of the sprite
+     * @param y vertical position of the sprite
+     * @param size width and height of the sprite
+     */
+    void add(GuiGraphics graphics, TextureAtlasSprite sprite, int x, int y, int size) {
+        if (atlas != null && !atlas.equals(sprite.atlasLocation())) {
+            // flush() resets the count, so it must run before the count is read
+            int drawCalls = flush();
+            extraDrawCalls += drawCalls;
+        }
+        if (atlas == null) {
+            atlas = sprite.atlasLocation();
+            builder.begin(VertexFormat.Mode.QUADS, DefaultVertexFormat.POSITION_TEX);
+        }
+        Matrix4f matrix = graphics.pose().last().pose();
+        builder.vertex(matrix, x, y, 0).uv(sprite.getU0(), sprite.getV0()).endVertex();
+        builder.vertex(matrix, x, y + size, 0).uv(sprite.getU0(), sprite.getV1()).endVertex();
+        builder.vertex(matrix, x + size, y + size, 0)
+                .uv(sprite.getU1(), sprite.getV1())
+                .endVertex();
+        builder.vertex(matrix, x + size, y, 0).uv(sprite.getU1(), sprite.getV0()).endVertex();
+    }
+
+    /**
+     * Draws every quad in the batch with a single draw call, ending the batch.
+     *
+     * @return the number of draw calls issued for the batch since the last call to this method,
+     *     including those issued because sprites from another atlas were added
+     */
+    int flush() {
+        int drawCalls = extraDrawCalls;
+        extraDrawCalls = 0;
+        if (atlas == null) {
+            return drawCalls;
+        }
+        RenderSystem.setShader(GameRenderer::getPositionTexShader);
+        RenderSystem.setShaderTexture(0, atlas);
+        // Removes black background of the sprites
+        RenderSystem.enableBlend();
+        RenderSystem.defaultBlendFunc();
+        BufferUploader.drawWithShader(builder.end());
+        RenderSystem.disableBlend();
+        atlas = null;
+        return drawCalls + 1;
+    }
+}
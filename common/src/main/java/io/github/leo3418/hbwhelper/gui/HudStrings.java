@@ -0,0 +1,122 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import java.util.Locale;
+
+/**
+ * Lookup tables of the strings {@link HudGui} shows for numbers of seconds and other small
+ * integers, so showing a number that changes over time does not create a new string each time.
+ *
+ * <p>Numbers outside the tables are still supported; strings for them are just created on each
+ * call.
+ *
+ * @author Ambossmann
+ */
+final class HudStrings {
+    /** Largest number of seconds shown as a countdown like {@code 30s} that is in a table */
+    private static final int MAX_COUNTDOWN = 600;
+
+    /** Largest number of seconds shown as a duration like {@code 01:30} that is in a table */
+    private static final int MAX_DURATION = 3600;
+
+    /** String for each integer from {@code 0} to {@link #MAX_COUNTDOWN} */
+    private static final String[] NUMBERS = new String[MAX_COUNTDOWN + 1];
+
+    /** Countdown string for each number of seconds from {@code 0} to {@link #MAX_COUNTDOWN} */
+    private static final String[] COUNTDOWNS = new String[MAX_COUNTDOWN + 1];
+
+    /** Duration string for each number of seconds from {@code 0} to {@link #MAX_DURATION} */
+    private static final String[] DURATIONS = new String[MAX_DURATION + 1];
+
+    static {
+        for (int i = 0; i <= MAX_COUNTDOWN; i++) {
+            NUMBERS[i] = Integer.toString(i);
+            COUNTDOWNS[i] = NUMBERS[i] + "s";
+        }
+        for (int i = 0; i <= MAX_DURATION; i++) {
+            DURATIONS[i] = formatDuration(i);
+        }
+    }
+
+    /** Prevents instantiation of this class. */
+    private HudStrings() {}
+
+    /**
+     * Returns the string for an integer.
+     *
+     * @param number the integer
+     * @return the string for the integer
+     */
+    static String number(int number) {
+        if (number >= 0 && number <= MAX_COUNTDOWN) {
+            return NUMBERS[number];
+        }
+        return Integer.toString(number);
+    }
+
+    /**
+     * Returns the string for a countdown, like {@code 30s}.
+     *
+     * @param seconds the number of seconds left, which must not be negative
+     * @return the string for the countdown
+     */
+    static String countdown(int seconds) {
+        if (seconds <= MAX_COUNTDOWN) {
+            return COUNTDOWNS[seconds];
+        }
+        return seconds + "s";
+    }
+
+    /**
+     * Returns the string for a duration in the same format as Minecraft's effect durations, like
+     * {@code 01:30}.
+     *
+     * @param seconds the duration in seconds, which must not be negative
+     * @return the string for the duration
+     */
+    static String duration(int seconds) {
+        if (seconds <= MAX_DURATION) {
+            return DURATIONS[seconds];
+        }
+        return formatDuration(seconds);
+    }
+
+    /**
+     * Formats a duration like {@link net.minecraft.util.StringUtil#formatTickDuration} does.
+     *
+     * @param seconds the duration in seconds
+     * @return the formatted duration
+     */
+    private static String formatDuration(int seconds) {
+        int minutes = seconds / 60;
+        int hours = minutes / 60;
+        if (hours > 0) {
+            return String.format(
+                    Locale.ROOT, "%02d:%02d:%02d", hours, minutes % 60, seconds % 60);
+        }
+        return String.format(Locale.ROOT, "%02d:%02d", minutes, seconds % 60);
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import com.mojang.blaze3d.platform.Window;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import net.minecraft.client.Minecraft;
+import net.minecraft.locale.Language;
+import net.minecraft.network.chat.FormattedText;
+import net.minecraft.network.chat.Style;
+import net.minecraft.util.FormattedCharSequence;
+import net.minecraft.util.FormattedCharSink;
+
+/**
+ * A cache of strings shown on {@link HudGui} that have been split into styled characters in visual
+ * order, along with their widths, so strings that are shown again skip text layout.
+ *
+ * <p>The cache is cleared when resources, including fonts, are reloaded, and when the GUI scale
+ * changes.
+ *
+ * <p>This is a Singleton class. Only one instance of this class may be created per runtime. It
+ * must only be used on the render thread.
+ *
+ * @author Ambossmann
+ */
+final class HudTextCache {
+    /** Number of strings after which the cache is cleared to keep its memory use bounded */
+    private static final int MAX_SIZE = 1024;
+
+    /** The only instance of this class */
+    private static final HudTextCache INSTANCE = new HudTextCache();
+
+    /** The cached strings */
+    private final Map<String, ShapedText> cache;
+
+    /** GUI scale the strings in the cache were laid out at */
+    private double guiScale;
+
+    /**
+     * Implementation of Singleton design pattern, which allows only one instance of this class to
+     * be created.
+     */
+    private HudTextCache() {
+        cache = new HashMap<>();
+    }
+
+    /**
+     * Returns the instance of this class.
+     *
+     * @return the instance of this class
+     */
+    static HudTextCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns a string laid out for rendering, laying it out only if it is not in the cache.
+     *
+     * @param text the string, which may contain formatting codes
+     * @return the string laid out for rendering
+     */
+    ShapedText get(String text) {
+        ShapedText shapedText = cache.get(text);
+        if (shapedText == null) {
+            if (cache.size() >= MAX_SIZE) {
+                cache.clear();
+            }
+            shapedText = ShapedText.of(text);
+            cache.put(text, shapedText);
+        }
+        return shapedText;
+    }
+
+    /**
+     * Clears the cache if the GUI scale has changed since the strings in it were laid out.
+     *
+     * <p>This method should be called at the start of every frame {@link HudGui} is rendered in.
+     */
+    void validate() {
+        Window window = Minecraft.getInstance().getWindow();
+        if (guiScale != window.getGuiScale()) {
+            guiScale = window.getGuiScale();
+            cache.clear();
+        }
+    }
+
+    /** Clears the cache, for example because fonts have been reloaded. */
+    void clear() {
+        cache.clear();
+    }
+
+    /**
+     * A string split into styled characters in visual order, which can be replayed to the font
+     * renderer without splitting or reordering the string again.
+     */
+    static final class ShapedText implements FormattedCharSequence {
+        /** Style of each character */
+        private final Style[] styles;
+
+        /** Code point of each character */
+        private final int[] codePoints;
+
+        /** Width of the string */
+        private final int width;
+
+        /**
+         * Constructs a new laid out string.
+         *
+         * @param styles style of each character
+         * @param codePoints code point of each character
+         * @param width width of the string
+         */
+        private ShapedText(Style[] styles, int[] codePoints, int width) {
+            this.styles = styles;
+            this.codePoints = codePoints;
+            this.width = width;
+        }
+
+        /**
+         * Lays out a string.
+         *
+         * @param text the string, which may contain formatting codes
+         * @return the laid out string
+         */
+        private static ShapedText of(String text) {
+            FormattedCharSequence sequence =
+                    Language.getInstance().getVisualOrder(FormattedText.of(text));
+            Collector collector = new Collector(text.length());
+            sequence.accept(collector);
+            return new ShapedText(
+                    Arrays.copyOf(collector.styles, collector.count),
+                    Arrays.copyOf(collector.codePoints, collector.count),
+                    Minecraft.getInstance().font.width(sequence));
+        }
+
+        /**
+         * Returns the width of this string.
+         *
+         * @return the width of this string
+         */
+        int getWidth() {
+            return width;
+        }
+
+        @Override
+        public boolean accept(FormattedCharSink sink) {
+            for (int i = 0; i < codePoints.length; i++) {
+                if (!sink.accept(i, styles[i], codePoints[i])) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /** A {@link FormattedCharSink} that records every character it accepts. */
+    private static final class Collector implements FormattedCharSink {
+        /** Style of each character accepted */
+        private Style[] styles;
+
+        /** Code point of each character accepted */
+        private int[] codePoints;
+
+        /** Number of characters accepted */
+        private int count;
+
+        /**
+         * Constructs a new collector.
+         *
+         * @param capacity expected number of characters
+         */
+        private Collector(int capacity) {
+            styles = new Style[Math.max(capacity, 1)];
+            codePoints = new int[styles.length];
+        }
+
+        @Override
+        public boolean accept(int position, Style style, int codePoint) {
+            if (count == codePoints.length) {
+                styles = Arrays.copyOf(styles, count * 2);
+                codePoints = Arrays.copyOf(codePoints, count * 2);
+            }
+            styles[count] = style;
+            codePoints[count] = codePoint;
+            count++;
+            return true;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import net.minecraft.client.gui.GuiGraphics;
+import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.world.item.ItemStack;
+
+/**
+ * A part of {@link HudGui} that shows one kind of information and keeps a {@linkplain HudDrawList
+ * draw list} for it.
+ *
+ * <p>On every frame, a widget first checks whether the information it shows has changed since its
+ * draw list was built. Only if it has, the draw list is rebuilt; otherwise, the draw list is just
+ * replayed. Subclasses must check for changes without allocating objects, because that check runs
+ * on every frame.
+ *
+ * @author Ambossmann
+ */
+abstract class HudWidget {
+    /** Color of text displayed on {@link HudGui} */
+    static final int TEXT_COLOR = 0xFFFFFF;
+
+    /** Height of a line of text on {@link HudGui} */
+    static final int LINE_HEIGHT = 10;
+
+    /** Height of icon of an item */
+    static final int ITEM_ICON_SIZE = 16;
+
+    /** Height of icon of a status effect */
+    static final int EFFECT_ICON_SIZE = 18;
+
+    /** The draw list of this widget */
+    private final HudDrawList drawList;
+
+    /** Whether the draw list must be rebuilt regardless of whether the information has changed */
+    private boolean invalid;
+
+    /** Constructs a new widget whose draw list will be built on the first frame. */
+    HudWidget() {
+        drawList = new HudDrawList();
+        invalid = true;
+    }
+
+    /**
+     * Rebuilds the draw list of this widget if the information it shows has changed.
+     *
+     * @return whether the draw list has been rebuilt
+     */
+    final boolean update() {
+        // Both checks are made so the widget records the current information
+        if (hasChanged() | invalid) {
+            invalid = false;
+            drawList.clear();
+            build(drawList);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Renders this widget by replaying its draw list as it is.
+     *
+     * @param graphics the {@link GuiGraphics} to render with
+     * @param iconAtlas the {@link HudIconAtlas} to draw icons of items from
+     * @param spriteBatch the {@link HudSpriteBatch} to add sprites to
+     * @param counter the {@link HudDrawCounter} to count draw calls with
+     * @param x horizontal position of the top-left corner of this widget
+     * @param y vertical position of the top-left corner of this widget
+     * @return the height of this widget
+     */
+    final int draw(
+            GuiGraphics graphics,
+            HudIconAtlas iconAtlas,
+            HudSpriteBatch spriteBatch,
+            HudDrawCounter counter,
+            int x,
+            int y) {
+        drawList.draw(graphics, iconAtlas, spriteBatch, counter, x, y);
+        return drawList.getHeight();
+    }
+
+    /**
+     * Returns the height of this widget as of the last time its draw list was built.
+     *
+     * @return the height of this widget
+     */
+    final int getHeight() {
+        return drawList.getHeight();
+    }
+
+    /**
+     * Forces the draw list of this widget to be rebuilt on the next frame, for example because
+     * translations or textures have been reloaded.
+     */
+    final void invalidate() {
+        invalid = true;
+    }
+
+    /**
+     * Returns whether the information this widget shows has changed since the last time this
+     * method was called, and remembers the current information for the next call.
+     *
+     * <p>This method is called on every frame, so it must not allocate objects.
+     *
+     * @return whether the information this widget shows has changed
+     */
+    abstract boolean hasChanged();
+
+    /**
+     * Adds everything this widget shows to an empty draw list, and sets the draw list's height.
+     *
+     * @param drawList the draw list
+     */
+    abstract void build(HudDrawList drawList);
+
+    /**
+     * Adds an icon of an item with a string to its right below everything in a draw list.
+     *
+     * @param drawList the draw list
+     * @param itemStack the {@link ItemStack} for the item
+     * @param text the text to be rendered
+     */
+    static void addItemIconAndString(HudDrawList drawList, ItemStack itemStack, String text) {
+        int y = drawList.getHeight();
+        drawList.addItem(itemStack, (EFFECT_ICON_SIZE - ITEM_ICON_SIZE) / 2, y);
+        drawList.addText(
+                text,
+                ITEM_ICON_SIZE + getSpaceWidth(),
+                y + (ITEM_ICON_SIZE - LINE_HEIGHT) / 2 + 1,
+                TEXT_COLOR);
+        drawList.setHeight(y + ITEM_ICON_SIZE + 1);
+    }
+
+    /**
+     * Adds icons of items in a single line below everything in a draw list. Nothing is added if
+     * there is no item.
+     *
+     * @param drawList the draw list
+     * @param itemStacks array containing the {@link ItemStack} for each item
+     * @param count number of items in the array
+     */
+    static void addItemIcons(HudDrawList drawList, ItemStack[] itemStacks, int count) {
+        int x = (EFFECT_ICON_SIZE - ITEM_ICON_SIZE) / 2;
+        int y = drawList.getHeight();
+        for (int i = 0; i < count; i++) {
+            drawList.addItem(itemStacks[i], x, y);
+            x += ITEM_ICON_SIZE + 1;
+        }
+        if (count > 0) {
+            drawList.setHeight(y + ITEM_ICON_SIZE + 1);
+        }
+    }
+
+    /**
+     * Adds an icon of a status effect with its amplifier and duration to its right below
+     * everything in a draw list.
+     *
+     * @param drawList the draw list
+     * @param icon the status effect's icon
+     * @param amplifier the amplifier to be rendered, or {@code null} if no amplifier is shown
+     * @param duration the duration to be rendered
+     * @param durationColor color of the duration
+     */
+    static void addEffectIconAndString(
+            HudDrawList drawList,
+            TextureAtlasSprite icon,
+            String amplifier,
+            String duration,
+            int durationColor) {
+        int spaceWidth = getSpaceWidth();
+        int x = EFFECT_ICON_SIZE + spaceWidth;
+        int y = drawList.getHeight();
+        int textY = y + (EFFECT_ICON_SIZE - LINE_HEIGHT) / 2 + 1;
+        drawList.addSprite(icon, 0, y, EFFECT_ICON_SIZE);
+        if (amplifier != null) {
+            drawList.addText(amplifier, x, textY, TEXT_COLOR);
+            x += HudTextCache.getInstance().get(amplifier).getWidth() + spaceWidth;
+        }
+        drawList.addText(duration, x, textY, durationColor);
+        drawList.setHeight(y + EFFECT_ICON_SIZE + 1);
+    }
+
+    /**
+     * Returns the width of a space, which separates an icon from the strings to its right.
+     *
+     * <p>Strings are placed after a space this wide instead of being prefixed with a space, so they
+     * can be taken from {@link HudStrings} as they are.
+     *
+     * @return the width of a space
+     */
+    private static int getSpaceWidth() {
+        return HudTextCache.getInstance().get(" ").getWidth();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import io.github.leo3418.hbwhelper.game.CountedTrap;
+import io.github.leo3418.hbwhelper.game.GameManager;
+import io.github.leo3418.hbwhelper.game.TrapType;
+import net.minecraft.world.item.Item;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+/**
+ * Widget of {@link HudGui} that shows the trap queue of the player's team.
+ *
+ * <p>This widget must only be rendered when {@link GameManager#getInstance()} is not {@code null}.
+ *
+ * @author Ambossmann
+ */
+final class TrapsWidget extends HudWidget {
+    /** The {@link ItemStack} shown at the start of the trap queue */
+    private final ItemStack leather;
+
+    /** The {@link ItemStack} for each {@link TrapType}, indexed by ordinal */
+    private final ItemStack[] trapIcons;
+
+    /** Icons in the line this widget shows */
+    private final ItemStack[] icons;
+
+    /** Ordinal of the type of each trap shown, from the front of the queue */
+    private final int[] trapTypes;
+
+    /** Number of traps shown, or {@code -1} before the first frame */
+    private int trapCount;
+
+    /** Constructs a new instance of this widget. */
+    TrapsWidget() {
+        leather = new ItemStack(Items.LEATHER);
+        trapIcons = new ItemStack[TrapType.values().length];
+        for (TrapType trapType : TrapType.values()) {
+            trapIcons[trapType.ordinal()] = new ItemStack(iconOf(trapType));
+        }
+        icons = new ItemStack[GameManager.MAX_TRAPS + 1];
+        trapTypes = new int[GameManager.MAX_TRAPS];
+        trapCount = -1;
+    }
+
+    /**
+     * Returns the item whose icon stands for a trap type.
+     *
+     * @param trapType the trap type
+     * @return the item whose icon stands for the trap type
+     */
+    private static Item iconOf(TrapType trapType) {
+        switch (trapType) {
+            case ORDINARY:
+                return Items.TRIPWIRE_HOOK;
+            case COUNTER:
+                return Items.FEATHER;
+            case ALARM:
+                return Items.REDSTONE_TORCH;
+            case MINER_FATIGUE:
+                return Items.IRON_PICKAXE;
+            default:
+                throw new IllegalArgumentException("Unknown trap type: " + trapType);
+        }
+    }
+
+    @Override
+    boolean hasChanged() {
+        boolean changed = false;
+        int count = 0;
+        for (CountedTrap countedTrap : GameManager.getInstance().getTraps()) {
+            if (count == trapTypes.length) {
+                break;
+            }
+            int ordinal = countedTrap.getTrapType().ordinal();
+            if (trapTypes[count] != ordinal) {
+                trapTypes[count] = ordinal;
+                changed = true;
+            }
+            count++;
+        }
+        if (count != trapCount) {
+            trapCount = count;
+            changed = true;
+        }
+        return changed;
+    }
+
+    @Override
+    void build(HudDrawList drawList) {
+        int count = 0;
+        icons[count++] = leather;
+        for (int i = 0; i < trapCount; i++) {
+            icons[count++] = trapIcons[trapTypes[i]];
+        }
+        addItemIcons(drawList, icons, count);
+    }
+}
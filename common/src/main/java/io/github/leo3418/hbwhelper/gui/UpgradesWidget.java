@@ -0,0 +1,84 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.gui;
+
+import io.github.leo3418.hbwhelper.game.GameManager;
+import net.minecraft.world.item.ItemStack;
+import net.minecraft.world.item.Items;
+
+/**
+ * Widget of {@link HudGui} that shows whether the player's team has unlocked "Heal Pool" and
+ * "Dragon Buff" upgrades. This widget is empty if the team has unlocked neither.
+ *
+ * <p>This widget must only be rendered when {@link GameManager#getInstance()} is not {@code null}.
+ *
+ * @author Ambossmann
+ */
+final class UpgradesWidget extends HudWidget {
+    /** The {@link ItemStack} for "Heal Pool" */
+    private final ItemStack beacon;
+
+    /** The {@link ItemStack} for "Dragon Buff" */
+    private final ItemStack dragonEgg;
+
+    /** Icons in the line this widget shows */
+    private final ItemStack[] icons;
+
+    /** Whether "Heal Pool" is shown */
+    private boolean healPool;
+
+    /** Whether "Dragon Buff" is shown */
+    private boolean dragonBuff;
+
+    /** Constructs a new instance of this widget. */
+    UpgradesWidget() {
+        beacon = new ItemStack(Items.BEACON);
+        dragonEgg = new ItemStack(Items.DRAGON_EGG);
+        icons = new ItemStack[2];
+    }
+
+    @Override
+    boolean hasChanged() {
+        GameManager game = GameManager.getInstance();
+        boolean hasHealPool = game.hasHealPool();
+        boolean hasDragonBuff = game.hasDragonBuff();
+        boolean changed = hasHealPool != healPool || hasDragonBuff != dragonBuff;
+        healPool = hasHealPool;
+        dragonBuff = hasDragonBuff;
+        return changed;
+    }
+
+    @Override
+    void build(HudDrawList drawList) {
+        int count = 0;
+        if (healPool) {
+            icons[count++] = beacon;
+        }
+        if (dragonBuff) {
+            icons[count++] = dragonEgg;
+        }
+        addItemIcons(drawList, icons, count);
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.util;
+
+import io.github.leo3418.hbwhelper.HbwHelper;
+import java.util.ArrayDeque;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Finds {@linkplain io.github.leo3418.hbwhelper.game.ChatPrompt prompts} in chat messages on a
+ * background thread, so the client thread does not spend time on prompt matching when many chat
+ * messages arrive at once.
+ *
+ * <p>On the client thread, {@link #submit(ChatMessage)} checks a chat message against the prompt
+ * prefilter, copies the text its prompts are recognized from out of its text component, and hands
+ * the message over to a worker thread through a {@link SpscQueue}. The worker thread finds the
+ * message's prompts and hands the message back through another {@code SpscQueue}, from which
+ * {@link #drain(Consumer)} takes classified messages on the client thread, in the order they were
+ * submitted. Neither thread ever waits for the other while holding a message.
+ *
+ * <p>This is a Singleton class. Only one instance of this class may be created per runtime.
+ *
+ * @author Ambossmann
+ */
+public class ChatClassifier {
+    /** Maximum number of messages in each queue between the client thread and the worker thread */
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /** Time the worker thread waits before retrying when the queue of results is full */
+    private static final long OUTPUT_FULL_WAIT_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** The only instance of this class */
+    private static final ChatClassifier INSTANCE = new ChatClassifier();
+
+    /** Messages submitted by the client thread and waiting to be classified */
+    private final SpscQueue<ChatMessage> input;
+
+    /** Messages classified by the worker thread and waiting to be taken by the client thread */
+    private final SpscQueue<ChatMessage> output;
+
+    /**
+     * Messages submitted when {@link #input} was full, in the order they were submitted
+     *
+     * <p>This queue is only accessed from the client thread.
+     */
+    private final Queue<ChatMessage> overflow;
+
+    /** The worker thread, or {@code null} if it has not been started */
+    private Thread worker;
+
+    /**
+     * Implementation of Singleton design pattern, which allows only one instance of this class to be
+     * created.
+     */
+    private ChatClassifier() {
+        input = new SpscQueue<>(QUEUE_CAPACITY);
+        output = new SpscQueue<>(QUEUE_CAPACITY);
+        overflow = new ArrayDeque<>();
+    }
+
+    /**
+     * Returns the instance of this class.
+     *
+     * @return the instance of this class
+     */
+    public static ChatClassifier getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Submits a chat message to be classified on the worker thread.
+     *
+     * <p>This method must only be called from the client thread.
+     *
+     * @param message the chat message
+     * @throws NullPointerException if {@code message == null}
+     */
+    public void submit(ChatMessage message) {
+        Objects.requireNonNull(message, "message");
+        // The worker thread must not touch the text component, so the text
+        // needed for classification is copied here. Messages ruled out by
+        // the prefilter are still queued to keep all messages in order.
+        if (message.mayContainPrompts()) {
+            message.getRuns();
+        }
+        if (worker == null) {
+            worker = new Thread(this::work, HbwHelper.NAME + " Chat Classifier");
+            worker.setDaemon(true);
+            worker.start();
+        }
+        overflow.add(message);
+        flushOverflow();
+    }
+
+    /**
+     * Passes every message that has been classified by the worker thread to a consumer, in the
+     * order the messages were submitted.
+     *
+     * <p>This method must only be called from the client thread.
+     *
+     * @param consumer the consumer of classified messages
+     */
+    public void drain(Consumer<ChatMessage> consumer) {
+        ChatMessage message;
+        while ((message = output.poll()) != null) {
+            consumer.accept(message);
+        }
+        flushOverflow();
+    }
+
+    /**
+     * Moves as many messages as possible from {@link #overflow} to {@link #input} and wakes up the
+     * worker thread if any message has been moved.
+     */
+    private void flushOverflow() {
+        boolean moved = false;
+        while (!overflow.isEmpty() && input.offer(overflow.peek())) {
+            overflow.remove();
+            moved = true;
+        }
+        if (moved) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    /** Classifies submitted messages forever. This method runs on the worker thread. */
+    private void work() {
+        while (true) {
+            ChatMessage message = input.poll();
+            if (message == null) {
+                LockSupport.park(this);
+                continue;
+            }
+            try {
+                message.findPrompts();
+            } catch (RuntimeException e) {
+                // The prompts will be found again on the client thread
+                HbwHelper.LOGGER.error("Failed to classify chat message", e);
+            }
+            while (!output.offer(message)) {
+                LockSupport.parkNanos(this, OUTPUT_FULL_WAIT_NANOS);
+            }
+        }
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.util;
+
+import io.github.leo3418.hbwhelper.game.ChatPrompt;
+import io.github.leo3418.hbwhelper.game.PromptTable;
+import java.util.EnumMap;
+import java.util.Objects;
+import net.minecraft.network.chat.Component;
+
+/**
+ * A chat message client receives, together with different textual views of it that are computed
+ * at most once.
+ *
+ * <p>One {@code ChatMessage} object should be created for each incoming message and passed to
+ * every class that analyzes the message, so the message's {@link Component} is converted to each
+ * view only once no matter how many classes read it. Recognizing {@linkplain ChatPrompt prompts}
+ * only requires the message's plain text, which rules out most messages, and its {@link TextRuns};
+ * its formatted text is built only when requested.
+ *
+ * <p>Objects of this class are not thread-safe, but they may be handed from one thread to another
+ * through a {@link SpscQueue}. Only {@link #findPrompts()} may be called from a thread other than
+ * the client thread, and only after {@link #mayContainPrompts()} and, if it returned {@code true},
+ * {@link #getRuns()} have been called on the client thread.
+ *
+ * @author Ambossmann
+ */
+public final class ChatMessage {
+    /** The text component of this message */
+    private final Component component;
+
+    /** Cache of this message's formatted text, or {@code null} if it has not been computed */
+    private String formattedText;
+
+    /** Cache of this message's plain text, or {@code null} if it has not been computed */
+    private String plainText;
+
+    /** Cache of this message's text runs, or {@code null} if they have not been computed */
+    private TextRuns runs;
+
+    /**
+     * The {@link PromptTable} prompts in this message are found with, or {@code null} if it has not
+     * been chosen
+     *
+     * <p>The table is chosen once, so all queries about prompts are answered with the same table
+     * even if another table is put in use in the middle.
+     */
+    private PromptTable promptTable;
+
+    /**
+     * Cache of whether any prompt may occur in this message, or {@code null} if it has not been
+     * computed
+     */
+    private Boolean mayContainPrompts;
+
+    /**
+     * Cache of prompts occurring in this message, each mapped to the text following it in the same
+     * run, or {@code null} if they have not been found
+     */
+    private EnumMap<ChatPrompt, String> prompts;
+
+    /**
+     * Constructs a new {@code ChatMessage} instance.
+     *
+     * @param component the text component of this message
+     * @throws NullPointerException if {@code component == null}
+     */
+    public ChatMessage(Component component) {
+        this.component = Objects.requireNonNull(component, "component");
+    }
+
+    /**
+     * Returns the text component of this message.
+     *
+     * @return the text component of this message
+     */
+    public Component getComponent() {
+        return component;
+    }
+
+    /**
+     * Returns this message's formatted text, which has the same format as the return value of
+     * {@link TextComponents#toFormattedText(Component)}.
+     *
+     * @return this message's formatted text
+     */
+    public String getFormattedText() {
+        if (formattedText == null) {
+            formattedText = TextComponents.toFormattedText(component);
+        }
+        return formattedText;
+    }
+
+    /**
+     * Returns this message's plain text without any formatting code.
+     *
+     * @return this message's plain text without any formatting code
+     */
+    public String getPlainText() {
+        if (plainText == null) {
+            plainText = component.getString();
+        }
+        return plainText;
+    }
+
+    /**
+     * Returns this message's text runs.
+     *
+     * @return this message's text runs
+     */
+    public TextRuns getRuns() {
+        if (runs == null) {
+            runs = TextComponents.toTextRuns(component);
+        }
+        return runs;
+    }
+
+    /**
+     * Returns whether any {@linkplain ChatPrompt prompt} may occur in this message, judging only
+     * from its plain text. If this method returns {@code false}, no prompt occurs in this message,
+     * and its text runs are not needed.
+     *
+     * @return whether any prompt may occur in this message
+     */
+    public boolean mayContainPrompts() {
+        if (mayContainPrompts == null) {
+            mayContainPrompts = getPromptTable().mayOccurIn(getPlainText());
+        }
+        return mayContainPrompts;
+    }
+
+    /**
+     * Finds all {@linkplain ChatPrompt prompts} occurring in this message if they have not been
+     * found, so later queries about prompts are answered from cache.
+     */
+    public void findPrompts() {
+        getPrompts();
+    }
+
+    /**
+     * Returns whether a {@linkplain ChatPrompt prompt} occurs in this message.
+     *
+     * <p>All prompts are found in a single scan of this message's text runs the first time this
+     * method or {@link #getTextAfter(ChatPrompt)} is called.
+     *
+     * @param prompt the prompt
+     * @return whether the prompt occurs in this message
+     */
+    public boolean contains(ChatPrompt prompt) {
+        return getPrompts().containsKey(prompt);
+    }
+
+    /**
+     * Returns the text following a {@linkplain ChatPrompt prompt} up to the end of the run it
+     * occurs in, or {@code null} if the prompt does not occur in this message.
+     *
+     * @param prompt the prompt
+     * @return the text following the prompt in the same run, or {@code null} if the prompt does
+     *     not occur in this message
+     */
+    public String getTextAfter(ChatPrompt prompt) {
+        return getPrompts().get(prompt);
+    }
+
+    /**
+     * Returns all prompts occurring in this message, each mapped to the text following it in the
+     * same run.
+     *
+     * @return all prompts occurring in this message
+     */
+    private EnumMap<ChatPrompt, String> getPrompts() {
+        if (prompts == null) {
+            prompts =
+                    mayContainPrompts()
+                            ? getPromptTable().findAll(getRuns())
+                            : new EnumMap<>(ChatPrompt.class);
+        }
+        return prompts;
+    }
+
+    /**
+     * Returns the {@link PromptTable} prompts in this message are found with.
+     *
+     * @return the {@code PromptTable} prompts in this message are found with
+     */
+    private PromptTable getPromptTable() {
+        if (promptTable == null) {
+            promptTable = PromptTable.getCurrent();
+        }
+        return promptTable;
+    }
+
+    @Override
+    public String toString() {
+        return getFormattedText();
+    }
+}
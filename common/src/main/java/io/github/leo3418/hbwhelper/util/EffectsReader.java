@@ -27,6 +27,8 @@ package io.github.leo3418.hbwhelper.util;
 
 import net.minecraft.client.Minecraft;
 import net.minecraft.client.renderer.texture.TextureAtlasSprite;
+import net.minecraft.util.Mth;
+import net.minecraft.world.effect.MobEffect;
 import net.minecraft.world.effect.MobEffectInstance;
 import net.minecraft.world.effect.MobEffectUtil;
 
@@ -90,6 +92,27 @@ public class EffectsReader {
         return MobEffectUtil.formatDuration(potionEffect, 1.0F, Minecraft.getInstance().level.tickRateManager().tickrate()).getString();
     }
 
+    /**
+     * Returns the number of seconds in the duration of a potion effect as how
+     * they are shown in the client, or {@code -1} if it has maximum duration.
+     * <p>
+     * Unlike {@link #getDuration(MobEffectInstance)}, this method takes the
+     * server's tick rate into account like the client does.
+     *
+     * @param potionEffect the potion effect whose duration is queried
+     * @return the number of seconds in the duration of the potion effect as
+     *         how they are shown in the client, or {@code -1} if it has
+     *         maximum duration
+     */
+    public static int getDisplayedSeconds(MobEffectInstance potionEffect) {
+        if (potionEffect.isInfiniteDuration()) {
+            return -1;
+        }
+        float tickRate = Objects.requireNonNull(Minecraft.getInstance().level)
+                .tickRateManager().tickrate();
+        return Mth.floor(potionEffect.getDuration() / tickRate);
+    }
+
     /**
      * Returns duration of a potion effect in seconds, or {@code -1} if it has
      * maximum duration.
@@ -112,7 +135,16 @@ public class EffectsReader {
      * @return the icon of the potion effect
      */
     public static TextureAtlasSprite getIcon(MobEffectInstance potionEffect) {
-        return Minecraft.getInstance().getMobEffectTextures()
-                .get(potionEffect.getEffect());
+        return getIcon(potionEffect.getEffect());
+    }
+
+    /**
+     * Returns the icon of a kind of potion effect.
+     *
+     * @param effect the kind of potion effect whose icon is queried
+     * @return the icon of the kind of potion effect
+     */
+    public static TextureAtlasSprite getIcon(MobEffect effect) {
+        return Minecraft.getInstance().getMobEffectTextures().get(effect);
     }
 }
@@ -27,9 +27,9 @@ package io.github.leo3418.hbwhelper.util;
 
 import io.github.leo3418.hbwhelper.EventManager;
 import io.github.leo3418.hbwhelper.event.GameEvent;
+import io.github.leo3418.hbwhelper.game.ChatPrompt;
 import net.minecraft.client.gui.screens.ReceivingLevelScreen;
 import net.minecraft.client.gui.screens.Screen;
-import net.minecraft.network.chat.Component;
 
 /**
  * Detects and tracks if client is in a Hypixel Bed Wars game.
@@ -39,29 +39,6 @@ import net.minecraft.network.chat.Component;
  * @author Leo
  */
 public class GameDetector {
-    /*
-     * Note: Some of the prompts below in 1.14 and above differ from their
-     * counterpart in older Minecraft client versions.
-     */
-
-    /** Prompt client received in chat when a new ordinary game starts */
-    private static final String ORDINARY_START_TEXT = "§f§lBed Wars§r";
-
-    /** Prompt client received in chat when a Bed Wars game in Rush Mode starts */
-    private static final String RUSH_START_TEXT = "§f§lBed Wars Rush§r";
-
-    /** Prompt client received in chat when a Bed Wars game in Ultimate Mode starts */
-    private static final String ULTIMATE_START_TEXT = "§f§lBed Wars Ultimate§r";
-
-    /** Prompt client received in chat when a Bed Wars game in Lucky Blocks Mode starts */
-    private static final String LUCKY_BLOCKS_START_TEXT = "§f§lBed Wars Lucky Blocks§r";
-
-    /** Prompt client received in chat when a Bed Wars game in Swappage Mode starts */
-    private static final String SWAPPAGE_START_TEXT = "§f§lBed Wars Swappage§r";
-
-    /** Prompt client received in chat when it rejoins a game */
-    private static final String REJOIN_TEXT = "§e§lTo leave Bed Wars, type /lobby§r";
-
     /** The only instance of this class */
     private static final GameDetector INSTANCE = new GameDetector();
 
@@ -158,20 +135,15 @@ public class GameDetector {
      *
      * <p>This method should be called whenever a {@link ClientChatReceivedEvent} is fired.
      *
-     * @param event the event fired when client receives a chat message
+     * @param message the chat message client receives
      */
-    public void update(Component message) {
+    public void update(ChatMessage message) {
         if (hypixelDetector.isIn() && !inBedWars) {
-            String formattedMessage = TextComponents.toFormattedText(message);
-            if (formattedMessage.contains(ORDINARY_START_TEXT)
-                    || formattedMessage.contains(RUSH_START_TEXT)
-                    || formattedMessage.contains(ULTIMATE_START_TEXT)
-                    || formattedMessage.contains(LUCKY_BLOCKS_START_TEXT)
-                    || formattedMessage.contains(SWAPPAGE_START_TEXT)) {
+            if (message.contains(ChatPrompt.GAME_START)) {
                 // A Bed Wars game starts
                 inBedWars = true;
                 GameEvent.GAME_START.invoker().start();
-            } else if (formattedMessage.contains(REJOIN_TEXT)) {
+            } else if (message.contains(ChatPrompt.REJOIN)) {
                 // Client rejoins a Bed Wars game
                 inBedWars = true;
                 GameEvent.CLIENT_REJOIN_GAME.invoker().rejoin();
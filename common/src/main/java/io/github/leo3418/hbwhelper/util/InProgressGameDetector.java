@@ -27,7 +27,7 @@ package io.github.leo3418.hbwhelper.util;
 
 import io.github.leo3418.hbwhelper.EventManager;
 import io.github.leo3418.hbwhelper.event.GameEvent;
-import net.minecraft.network.chat.Component;
+import io.github.leo3418.hbwhelper.game.ChatPrompt;
 
 /**
  * Detects if client is joining an in-progress Hypixel Bed Wars game and if joining is cancelled
@@ -42,23 +42,6 @@ import net.minecraft.network.chat.Component;
  * @author Leo
  */
 public class InProgressGameDetector {
-    /** Prompt client received in chat when it joins an in-progress game for the first time */
-    private static final String IN_PROGRESS_GAME_JOIN_TEXT =
-            "§aFound an in-progress Bed Wars game! Teleporting you to ";
-
-    /**
-     * Prompt client received in chat when Hypixel attempts to put the player into the server they are
-     * already in
-     */
-    private static final String ALREADY_CONNECTED_TEXT = "§cYou are already connected to this server";
-
-    /**
-     * Prompt client received in chat when it joins an in-progress game that no longer accepts new
-     * players anymore
-     */
-    private static final String GAME_ALREADY_STARTED_TEXT =
-            "§cThis game has already started! Please try again!";
-
     /** The only instance of this class */
     private static final InProgressGameDetector INSTANCE = new InProgressGameDetector();
 
@@ -101,16 +84,15 @@ public class InProgressGameDetector {
      *
      * <p>This method should be called whenever a {@link ClientChatReceivedEvent} is fired.
      *
-     * @param event the event fired when client receives a chat message
+     * @param message the chat message client receives
      */
-    public void detect(Component message) {
+    public void detect(ChatMessage message) {
         if (hypixelDetector.isIn()) {
-            String formattedMessage = TextComponents.toFormattedText(message);
-            if (formattedMessage.contains(IN_PROGRESS_GAME_JOIN_TEXT)) {
+            if (message.contains(ChatPrompt.IN_PROGRESS_GAME_JOIN)) {
                 GameEvent.CLIENT_JOIN_IN_PROGRESS_GAME.invoker().join();
             } else if (gameDetector.isIn()
-                    && (formattedMessage.contains(ALREADY_CONNECTED_TEXT)
-                            || formattedMessage.contains(GAME_ALREADY_STARTED_TEXT))) {
+                    && (message.contains(ChatPrompt.ALREADY_CONNECTED)
+                            || message.contains(ChatPrompt.GAME_ALREADY_STARTED))) {
                 /*
                 Client can also receive these messages when not in Bed Wars,
                 but we only care about them when client is in Bed Wars
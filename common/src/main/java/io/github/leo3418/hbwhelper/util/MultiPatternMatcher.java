@@ -0,0 +1,242 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.util;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * An immutable matcher that finds occurrences of any number of patterns in a piece of text in a
+ * single pass, using the Aho-Corasick algorithm.
+ *
+ * <p>Patterns are given as objects from which their texts are derived. When a text is scanned,
+ * every occurrence of any pattern's text is reported with the pattern object, so several patterns
+ * may share the same text. The time needed to scan a text is linear to the text's length plus the
+ * number of occurrences reported, regardless of how many patterns this matcher is built with.
+ *
+ * @param <T> the type of patterns
+ * @author Ambossmann
+ * @see <a href="https://en.wikipedia.org/wiki/Aho%E2%80%93Corasick_algorithm"
+ *     target="_top">Aho-Corasick algorithm on Wikipedia</a>
+ */
+public final class MultiPatternMatcher<T> {
+    /** Index of the root state of the automaton */
+    private static final int ROOT = 0;
+
+    /** Each pattern, indexed by pattern number */
+    private final List<T> patterns;
+
+    /** Length of each pattern, indexed by pattern number */
+    private final int[] lengths;
+
+    /** Sorted characters on which each state has a transition, indexed by state */
+    private final char[][] transitionChars;
+
+    /**
+     * Target state of each transition, indexed by state and then by the index of the character in
+     * {@link #transitionChars}
+     */
+    private final int[][] transitionTargets;
+
+    /** Failure link of each state, indexed by state */
+    private final int[] failures;
+
+    /**
+     * Numbers of patterns that end at each state, including those reachable through failure links,
+     * indexed by state
+     */
+    private final int[][] outputs;
+
+    /**
+     * Constructs a new {@code MultiPatternMatcher} instance.
+     *
+     * @param patterns the patterns
+     * @param textOf the function that returns the text of a pattern
+     * @throws NullPointerException if any argument is {@code null}, or {@code patterns} contains a
+     *     {@code null} element, or {@code textOf} returns {@code null} for a pattern
+     * @throws IllegalArgumentException if the text of any pattern is empty
+     */
+    public MultiPatternMatcher(
+            Collection<? extends T> patterns, Function<? super T, String> textOf) {
+        Objects.requireNonNull(patterns, "patterns");
+        Objects.requireNonNull(textOf, "textOf");
+
+        // Builds the trie
+        List<TreeMap<Character, Integer>> trie = new ArrayList<>();
+        List<List<Integer>> trieOutputs = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        trieOutputs.add(new ArrayList<>());
+        this.patterns = new ArrayList<>(patterns.size());
+        this.lengths = new int[patterns.size()];
+        for (T pattern : patterns) {
+            String text = Objects.requireNonNull(textOf.apply(pattern), "text");
+            if (text.isEmpty()) {
+                throw new IllegalArgumentException("Empty pattern");
+            }
+            int patternNumber = this.patterns.size();
+            this.patterns.add(Objects.requireNonNull(pattern, "pattern"));
+            lengths[patternNumber] = text.length();
+            int state = ROOT;
+            for (int i = 0; i < text.length(); i++) {
+                Integer next = trie.get(state).get(text.charAt(i));
+                if (next == null) {
+                    next = trie.size();
+                    trie.get(state).put(text.charAt(i), next);
+                    trie.add(new TreeMap<>());
+                    trieOutputs.add(new ArrayList<>());
+                }
+                state = next;
+            }
+            trieOutputs.get(state).add(patternNumber);
+        }
+
+        // Compacts the trie into arrays
+        int stateCount = trie.size();
+        this.transitionChars = new char[stateCount][];
+        this.transitionTargets = new int[stateCount][];
+        for (int state = 0; state < stateCount; state++) {
+            TreeMap<Character, Integer> transitions = trie.get(state);
+            char[] chars = new char[transitions.size()];
+            int[] targets = new int[transitions.size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> transition : transitions.entrySet()) {
+                chars[i] = transition.getKey();
+                targets[i] = transition.getValue();
+                i++;
+            }
+            transitionChars[state] = chars;
+            transitionTargets[state] = targets;
+        }
+
+        // Computes failure links and merged outputs in breadth-first order
+        this.failures = new int[stateCount];
+        this.outputs = new int[stateCount][];
+        outputs[ROOT] = new int[0];
+        Queue<Integer> queue = new ArrayDeque<>();
+        for (int child : transitionTargets[ROOT]) {
+            failures[child] = ROOT;
+            outputs[child] = toArray(trieOutputs.get(child));
+            queue.add(child);
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.remove();
+            for (int i = 0; i < transitionChars[state].length; i++) {
+                char c = transitionChars[state][i];
+                int child = transitionTargets[state][i];
+                int fallback = failures[state];
+                while (fallback != ROOT && next(fallback, c) == -1) {
+                    fallback = failures[fallback];
+                }
+                int failure = next(fallback, c);
+                failures[child] = failure == -1 ? ROOT : failure;
+                int[] own = toArray(trieOutputs.get(child));
+                int[] inherited = outputs[failures[child]];
+                int[] merged = Arrays.copyOf(own, own.length + inherited.length);
+                System.arraycopy(inherited, 0, merged, own.length, inherited.length);
+                outputs[child] = merged;
+                queue.add(child);
+            }
+        }
+    }
+
+    /**
+     * Scans a region of a text and reports every occurrence of any pattern in that region.
+     *
+     * <p>Occurrences are reported in the order of their end positions.
+     *
+     * @param text the text to be scanned
+     * @param from the index of the first character of the region, inclusive
+     * @param to the index of the last character of the region, exclusive
+     * @param consumer the object that receives each occurrence
+     * @throws NullPointerException if {@code text == null} or {@code consumer == null}
+     * @throws IndexOutOfBoundsException if the region is out of the bounds of the text
+     */
+    public void scan(CharSequence text, int from, int to, HitConsumer<? super T> consumer) {
+        Objects.checkFromToIndex(from, to, text.length());
+        Objects.requireNonNull(consumer, "consumer");
+        int state = ROOT;
+        for (int i = from; i < to; i++) {
+            char c = text.charAt(i);
+            int next = next(state, c);
+            while (next == -1 && state != ROOT) {
+                state = failures[state];
+                next = next(state, c);
+            }
+            state = next == -1 ? ROOT : next;
+            for (int patternNumber : outputs[state]) {
+                consumer.accept(
+                        patterns.get(patternNumber), i + 1 - lengths[patternNumber], i + 1);
+            }
+        }
+    }
+
+    /**
+     * Returns the state reached from a state on a character, or {@code -1} if there is no such
+     * transition in the trie.
+     *
+     * @param state the current state
+     * @param c the character
+     * @return the state reached, or {@code -1} if there is no such transition
+     */
+    private int next(int state, char c) {
+        int index = Arrays.binarySearch(transitionChars[state], c);
+        return index >= 0 ? transitionTargets[state][index] : -1;
+    }
+
+    /**
+     * Converts a {@link List} of {@link Integer} into an array of {@code int}.
+     *
+     * @param list the list to be converted
+     * @return an array with the same elements as the list
+     */
+    private static int[] toArray(List<Integer> list) {
+        return list.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Receives occurrences of patterns found by a {@link MultiPatternMatcher}.
+     *
+     * @param <T> the type of patterns
+     */
+    @FunctionalInterface
+    public interface HitConsumer<T> {
+        /**
+         * Receives an occurrence of a pattern.
+         *
+         * @param pattern the pattern
+         * @param start the index where the occurrence starts, inclusive
+         * @param end the index where the occurrence ends, exclusive
+         */
+        void accept(T pattern, int start, int end);
+    }
+}
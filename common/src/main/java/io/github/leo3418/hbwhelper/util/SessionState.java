@@ -0,0 +1,56 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.util;
+
+/**
+ * Enumeration of states of the client's session, which decide which classes analyze the chat
+ * messages client receives.
+ *
+ * @author Ambossmann
+ * @see SessionStateMachine
+ */
+public enum SessionState {
+    /** Client is not connected to Hypixel */
+    OFF_HYPIXEL,
+    /** Client is in Hypixel but not in a Bed Wars game */
+    LOBBY,
+    /**
+     * Client is in Hypixel but not in a Bed Wars game, and it is being sent to an in-progress Bed
+     * Wars game
+     */
+    PRE_GAME,
+    /** Client is in a Bed Wars game */
+    IN_GAME,
+    /**
+     * Client has been told to be sent from a Bed Wars game to another in-progress game, so what has
+     * been recorded about the current game should be discarded when client joins the next game
+     *
+     * <p>Client stays in this state after it leaves the current game, until it joins the next game,
+     * the transfer is cancelled or client disconnects.
+     */
+    REJOINING,
+    /** Client is in a Bed Wars game as a spectator */
+    SPECTATING
+}
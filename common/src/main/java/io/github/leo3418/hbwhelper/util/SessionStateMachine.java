@@ -0,0 +1,197 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.util;
+
+import io.github.leo3418.hbwhelper.diagnostics.Diagnostics;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.function.Consumer;
+
+/**
+ * Tracks the {@linkplain SessionState state} of the client's session and passes each chat message
+ * client receives only to the handlers that are active in the current state.
+ *
+ * <p>Each handler is registered for the set of states in which it should see chat messages, so
+ * while client is not in Hypixel, no chat message is analyzed at all, and while it is in a lobby,
+ * only the classes that detect joining a game analyze chat messages.
+ *
+ * <p>Every transition is recorded as a {@linkplain Diagnostics diagnostics} event and counted.
+ *
+ * <p>This is a Singleton class. Only one instance of this class may be created per runtime.
+ *
+ * @author Ambossmann
+ */
+public class SessionStateMachine {
+    /** The only instance of this class */
+    private static final SessionStateMachine INSTANCE = new SessionStateMachine();
+
+    /** Handlers of chat messages that are active in each state, in the order they are registered */
+    private final Map<SessionState, List<Consumer<ChatMessage>>> chatHandlers;
+
+    /** Number of transitions between each pair of states, indexed by ordinals of the states */
+    private final long[][] transitionCounts;
+
+    /** The current state */
+    private SessionState state;
+
+    /**
+     * Implementation of Singleton design pattern, which allows only one instance of this class to be
+     * created.
+     */
+    private SessionStateMachine() {
+        chatHandlers = new EnumMap<>(SessionState.class);
+        for (SessionState state : SessionState.values()) {
+            chatHandlers.put(state, new ArrayList<>());
+        }
+        int states = SessionState.values().length;
+        transitionCounts = new long[states][states];
+        state = SessionState.OFF_HYPIXEL;
+    }
+
+    /**
+     * Returns the instance of this class.
+     *
+     * @return the instance of this class
+     */
+    public static SessionStateMachine getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the current state.
+     *
+     * @return the current state
+     */
+    public SessionState getState() {
+        return state;
+    }
+
+    /**
+     * Returns whether the current state is one of some states.
+     *
+     * @param first a state
+     * @param rest other states
+     * @return whether the current state is one of the states
+     */
+    public boolean isIn(SessionState first, SessionState... rest) {
+        if (state == first) {
+            return true;
+        }
+        for (SessionState other : rest) {
+            if (state == other) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Changes the current state. Nothing happens if the new state is the current state.
+     *
+     * @param newState the new state
+     * @param cause description of what causes the transition, for diagnostics
+     * @throws NullPointerException if {@code newState == null}
+     */
+    public void transition(SessionState newState, String cause) {
+        Objects.requireNonNull(newState, "newState");
+        if (newState == state) {
+            return;
+        }
+        transitionCounts[state.ordinal()][newState.ordinal()]++;
+        Diagnostics.getInstance()
+                .log(
+                        Diagnostics.Level.INFO,
+                        "Session state {} -> {} ({})",
+                        state,
+                        newState,
+                        cause);
+        state = newState;
+    }
+
+    /**
+     * Registers a handler of chat messages that is active in some states.
+     *
+     * @param handler the handler
+     * @param first a state in which the handler is active
+     * @param rest other states in which the handler is active
+     * @throws NullPointerException if any argument is {@code null}
+     */
+    public void addChatHandler(
+            Consumer<ChatMessage> handler, SessionState first, SessionState... rest) {
+        Objects.requireNonNull(handler, "handler");
+        chatHandlers.get(Objects.requireNonNull(first, "first")).add(handler);
+        for (SessionState state : rest) {
+            chatHandlers.get(Objects.requireNonNull(state, "state")).add(handler);
+        }
+    }
+
+    /**
+     * Returns whether any handler of chat messages is active in the current state.
+     *
+     * @return whether any handler of chat messages is active in the current state
+     */
+    public boolean hasChatHandlers() {
+        return !chatHandlers.get(state).isEmpty();
+    }
+
+    /**
+     * Passes a chat message to every handler that is active in the current state, in the order
+     * they are registered.
+     *
+     * <p>The handlers are chosen before any of them is called, so if a handler changes the state,
+     * the message is still passed to the remaining handlers of the original state.
+     *
+     * @param message the chat message
+     */
+    public void dispatch(ChatMessage message) {
+        for (Consumer<ChatMessage> handler : chatHandlers.get(state)) {
+            handler.accept(message);
+        }
+    }
+
+    /**
+     * Returns the number of each transition that has happened since Minecraft started, formatted
+     * into text.
+     *
+     * @return the number of each transition that has happened, formatted into text
+     */
+    public String getTransitionCounts() {
+        SessionState[] states = SessionState.values();
+        StringJoiner joiner = new StringJoiner(", ");
+        for (SessionState from : states) {
+            for (SessionState to : states) {
+                long count = transitionCounts[from.ordinal()][to.ordinal()];
+                if (count > 0) {
+                    joiner.add(from + " -> " + to + ": " + count);
+                }
+            }
+        }
+        return joiner.toString();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.util;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A bounded, lock-free first-in-first-out queue for passing objects from exactly one producer
+ * thread to exactly one consumer thread.
+ *
+ * <p>{@link #offer(Object)} must only be called from the producer thread, and {@link #poll()} must
+ * only be called from the consumer thread. Neither method ever blocks. Everything the producer
+ * thread has done before offering an element is visible to the consumer thread after it polls the
+ * element.
+ *
+ * @param <E> the type of elements held in this queue
+ * @author Ambossmann
+ */
+public final class SpscQueue<E> {
+    /** Ring buffer that holds the elements */
+    private final Object[] buffer;
+
+    /** Mask that maps a sequence number to an index in {@link #buffer} */
+    private final int mask;
+
+    /** Sequence number of the next element to be polled, only advanced by the consumer */
+    private final AtomicLong head = new AtomicLong();
+
+    /** Sequence number of the next element to be offered, only advanced by the producer */
+    private final AtomicLong tail = new AtomicLong();
+
+    /**
+     * Constructs a new {@code SpscQueue} instance.
+     *
+     * @param capacity the maximum number of elements this queue can hold, which must be a power of
+     *     two
+     * @throws IllegalArgumentException if {@code capacity} is not a positive power of two
+     */
+    public SpscQueue(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity not a power of two: " + capacity);
+        }
+        this.buffer = new Object[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Inserts an element at the tail of this queue if there is space for it.
+     *
+     * <p>This method must only be called from the producer thread.
+     *
+     * @param element the element to be inserted
+     * @return {@code true} if the element was inserted, or {@code false} if this queue is full
+     * @throws NullPointerException if {@code element == null}
+     */
+    public boolean offer(E element) {
+        Objects.requireNonNull(element, "element");
+        long currentTail = tail.get();
+        if (currentTail - head.get() == buffer.length) {
+            return false;
+        }
+        buffer[(int) currentTail & mask] = element;
+        // Publishes the element to the consumer
+        tail.lazySet(currentTail + 1);
+        return true;
+    }
+
+    /**
+     * Removes and returns the element at the head of this queue, or returns {@code null} if this
+     * queue is empty.
+     *
+     * <p>This method must only be called from the consumer thread.
+     *
+     * @return the element at the head of this queue, or {@code null} if this queue is empty
+     */
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        long currentHead = head.get();
+        if (currentHead == tail.get()) {
+            return null;
+        }
+        int index = (int) currentHead & mask;
+        E element = (E) buffer[index];
+        buffer[index] = null;
+        // Returns the slot to the producer
+        head.lazySet(currentHead + 1);
+        return element;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * An immutable matcher that finds which of many {@linkplain StyledTextPattern styled text patterns}
+ * match some {@link TextRuns}, scanning the text of the runs only once.
+ *
+ * <p>Each pattern is associated with an identifier, which is a constant of an enumeration. The
+ * texts of all patterns are compiled into one {@link MultiPatternMatcher}; every occurrence of a
+ * text it finds is then checked against the formatting and position required by the pattern.
+ *
+ * @param <T> the type of the identifiers of patterns
+ * @author Ambossmann
+ */
+public final class StyledTextMatcher<T extends Enum<T>> {
+    /** Class of the identifiers of patterns */
+    private final Class<T> type;
+
+    /** The matcher for texts of all patterns */
+    private final MultiPatternMatcher<Entry<T>> matcher;
+
+    /**
+     * Constructs a new {@code StyledTextMatcher} instance.
+     *
+     * @param type the class of the identifiers of patterns
+     * @param patterns a map from each identifier to the patterns any of which indicates it
+     * @throws NullPointerException if any argument is {@code null}, or {@code patterns} contains a
+     *     {@code null} key, value or pattern
+     */
+    public StyledTextMatcher(
+            Class<T> type, Map<T, ? extends Collection<StyledTextPattern>> patterns) {
+        this.type = Objects.requireNonNull(type, "type");
+        List<Entry<T>> entries = new ArrayList<>();
+        for (Map.Entry<T, ? extends Collection<StyledTextPattern>> mapEntry : patterns.entrySet()) {
+            T id = Objects.requireNonNull(mapEntry.getKey(), "id");
+            for (StyledTextPattern pattern : mapEntry.getValue()) {
+                entries.add(new Entry<>(id, Objects.requireNonNull(pattern, "pattern")));
+            }
+        }
+        this.matcher = new MultiPatternMatcher<>(entries, entry -> entry.pattern.getText());
+    }
+
+    /**
+     * Returns the identifiers of all patterns that match some text runs, each mapped to the text
+     * following the first match of any of its patterns up to the end of the run.
+     *
+     * @param runs the text runs
+     * @return an {@link EnumMap} from the identifier of each matching pattern to the text following
+     *     its first match in the same run
+     * @throws NullPointerException if {@code runs == null}
+     */
+    public EnumMap<T, String> findAll(TextRuns runs) {
+        EnumMap<T, String> result = new EnumMap<>(type);
+        String text = runs.getText();
+        for (int run = 0; run < runs.size(); run++) {
+            int currentRun = run;
+            int runEnd = runs.end(run);
+            matcher.scan(
+                    text,
+                    runs.start(run),
+                    runEnd,
+                    (entry, start, end) -> {
+                        if (!result.containsKey(entry.id)
+                                && entry.pattern.accepts(runs, currentRun, start, end)) {
+                            result.put(entry.id, text.substring(end, runEnd));
+                        }
+                    });
+        }
+        return result;
+    }
+
+    /**
+     * A pattern together with its identifier.
+     *
+     * @param <T> the type of the identifier
+     */
+    private static final class Entry<T> {
+        /** The identifier of the pattern */
+        private final T id;
+
+        /** The pattern */
+        private final StyledTextPattern pattern;
+
+        /**
+         * Constructs a new {@code Entry} instance.
+         *
+         * @param id the identifier of the pattern
+         * @param pattern the pattern
+         */
+        private Entry(T id, StyledTextPattern pattern) {
+            this.id = id;
+            this.pattern = pattern;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.util;
+
+import java.util.Objects;
+import net.minecraft.ChatFormatting;
+import net.minecraft.network.chat.Component;
+
+/**
+ * An immutable pattern that matches a piece of text with a certain formatting in a {@linkplain
+ * Component text component}, like "the text <i>Heal Pool</i> in gold".
+ *
+ * <p>A pattern is matched against the {@link TextRuns} of a text component rather than its
+ * formatted text, so recognizing a pattern does not require building any string with formatting
+ * codes. The formatting of a run must be exactly the same as the pattern's formatting, including
+ * the absence of any formatting code not specified for the pattern.
+ *
+ * @author Ambossmann
+ */
+public final class StyledTextPattern {
+    /** The text to be matched */
+    private final String text;
+
+    /** {@linkplain TextComponents#styleKeyOf(ChatFormatting...) Style key} of the text */
+    private final int styleKey;
+
+    /** Where the text must be in a run */
+    private final Anchor anchor;
+
+    /**
+     * Constructs a new {@code StyledTextPattern} instance.
+     *
+     * @param text the text to be matched
+     * @param anchor where the text must be in a run
+     * @param formats the formatting codes of the text
+     */
+    private StyledTextPattern(String text, Anchor anchor, ChatFormatting... formats) {
+        if (text.isEmpty()) {
+            throw new IllegalArgumentException("Empty text");
+        }
+        this.text = text;
+        this.anchor = anchor;
+        this.styleKey = TextComponents.styleKeyOf(formats);
+    }
+
+    /**
+     * Returns a pattern that matches a run consisting of exactly a text with certain formatting.
+     *
+     * @param text the text to be matched
+     * @param formats the formatting codes of the text; at most one of them may be a color
+     * @return a pattern that matches a run consisting of exactly the text with the formatting
+     * @throws NullPointerException if any argument is {@code null}
+     * @throws IllegalArgumentException if {@code text} is empty, or {@code formats} contains
+     *     multiple colors or {@link ChatFormatting#RESET}
+     */
+    public static StyledTextPattern wholeRun(String text, ChatFormatting... formats) {
+        return new StyledTextPattern(text, Anchor.WHOLE_RUN, formats);
+    }
+
+    /**
+     * Returns a pattern that matches a run starting with a text with certain formatting.
+     *
+     * @param text the text to be matched
+     * @param formats the formatting codes of the text; at most one of them may be a color
+     * @return a pattern that matches a run starting with the text with the formatting
+     * @throws NullPointerException if any argument is {@code null}
+     * @throws IllegalArgumentException if {@code text} is empty, or {@code formats} contains
+     *     multiple colors or {@link ChatFormatting#RESET}
+     */
+    public static StyledTextPattern runStart(String text, ChatFormatting... formats) {
+        return new StyledTextPattern(text, Anchor.RUN_START, formats);
+    }
+
+    /**
+     * Returns a pattern that matches a run containing a text with certain formatting anywhere.
+     *
+     * @param text the text to be matched
+     * @param formats the formatting codes of the text; at most one of them may be a color
+     * @return a pattern that matches a run containing the text with the formatting
+     * @throws NullPointerException if any argument is {@code null}
+     * @throws IllegalArgumentException if {@code text} is empty, or {@code formats} contains
+     *     multiple colors or {@link ChatFormatting#RESET}
+     */
+    public static StyledTextPattern anywhere(String text, ChatFormatting... formats) {
+        return new StyledTextPattern(text, Anchor.ANYWHERE, formats);
+    }
+
+    /**
+     * Returns the text this pattern matches, without any formatting code.
+     *
+     * @return the text this pattern matches
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns whether an occurrence of this pattern's text in a run is a match of this pattern.
+     *
+     * @param runs the runs the text occurs in
+     * @param run the index of the run the text occurs in
+     * @param start the index in {@link TextRuns#getText()} where the occurrence starts
+     * @param end the index in {@code TextRuns#getText()} where the occurrence ends, exclusive
+     * @return whether the occurrence is a match of this pattern
+     */
+    public boolean accepts(TextRuns runs, int run, int start, int end) {
+        if (runs.styleKey(run) != styleKey) {
+            return false;
+        }
+        return switch (anchor) {
+            case WHOLE_RUN -> start == runs.start(run) && end == runs.end(run);
+            case RUN_START -> start == runs.start(run);
+            case ANYWHERE -> true;
+        };
+    }
+
+    /**
+     * Returns the index of the first run in which this pattern matches, or {@code -1} if this
+     * pattern does not match any run.
+     *
+     * @param runs the runs
+     * @return the index of the first run in which this pattern matches, or {@code -1} if there is
+     *     no such run
+     * @throws NullPointerException if {@code runs == null}
+     */
+    public int indexIn(TextRuns runs) {
+        String runsText = runs.getText();
+        for (int run = 0; run < runs.size(); run++) {
+            if (runs.styleKey(run) != styleKey) {
+                continue;
+            }
+            int runStart = runs.start(run);
+            int runEnd = runs.end(run);
+            int start =
+                    switch (anchor) {
+                        case WHOLE_RUN -> runEnd - runStart == text.length()
+                                        && runsText.startsWith(text, runStart)
+                                ? runStart
+                                : -1;
+                        case RUN_START -> runsText.startsWith(text, runStart) ? runStart : -1;
+                        case ANYWHERE -> indexOf(runsText, runStart, runEnd);
+                    };
+            if (start != -1 && start + text.length() <= runEnd) {
+                return run;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether this pattern matches any run of a text component.
+     *
+     * @param textComponent the text component
+     * @return whether this pattern matches any run of the text component
+     * @throws NullPointerException if {@code textComponent == null}
+     */
+    public boolean matches(Component textComponent) {
+        return indexIn(TextComponents.toTextRuns(textComponent)) != -1;
+    }
+
+    /**
+     * Returns the index of this pattern's text in a region of a string, or {@code -1} if the text
+     * does not occur entirely in that region.
+     *
+     * @param string the string
+     * @param from the index where the region starts, inclusive
+     * @param to the index where the region ends, exclusive
+     * @return the index of this pattern's text in the region, or {@code -1} if there is none
+     */
+    private int indexOf(String string, int from, int to) {
+        int index = string.indexOf(text, from);
+        return index != -1 && index + text.length() <= to ? index : -1;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof StyledTextPattern)) {
+            return false;
+        }
+        StyledTextPattern that = (StyledTextPattern) o;
+        return styleKey == that.styleKey && text.equals(that.text) && anchor == that.anchor;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(text, styleKey, anchor);
+    }
+
+    /** Enumeration of where the text of a pattern must be in a run. */
+    private enum Anchor {
+        /** The text must be the whole run */
+        WHOLE_RUN,
+        /** The text must be at the start of the run */
+        RUN_START,
+        /** The text can be anywhere in the run */
+        ANYWHERE
+    }
+}
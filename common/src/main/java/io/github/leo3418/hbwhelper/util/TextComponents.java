@@ -25,15 +25,17 @@
  */
 package io.github.leo3418.hbwhelper.util;
 
-import static java.util.AbstractMap.SimpleImmutableEntry;
-
-import java.util.*;
-import java.util.AbstractMap.SimpleImmutableEntry;
-import java.util.stream.Collectors;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
 import net.minecraft.ChatFormatting;
 import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.FormattedText;
 import net.minecraft.network.chat.Style;
 import net.minecraft.network.chat.TextColor;
+import net.minecraft.util.Unit;
 
 /**
  * Provides methods that operate on {@linkplain ITextComponent text component objects}.
@@ -42,26 +44,104 @@ import net.minecraft.network.chat.TextColor;
  */
 public class TextComponents {
     /**
-     * An immutable map that associates {@linkplain Color#getValue()} color integer codes} with format
-     * control strings with the section sign ({@code §})
+     * Sorted {@linkplain TextColor#getValue() color integer codes} of all colors that have a
+     * formatting code
+     */
+    private static final int[] COLOR_VALUES;
+
+    /**
+     * Format control strings with the section sign ({@code §}) for each color in {@link
+     * #COLOR_VALUES}, at the same index
+     */
+    private static final String[] COLOR_CTRL_STRS;
+
+    static {
+        ChatFormatting[] colors =
+                Arrays.stream(ChatFormatting.values())
+                        .filter(ChatFormatting::isColor)
+                        .sorted(Comparator.comparingInt(ChatFormatting::getColor))
+                        .toArray(ChatFormatting[]::new);
+        COLOR_VALUES = new int[colors.length];
+        COLOR_CTRL_STRS = new String[colors.length];
+        for (int i = 0; i < colors.length; i++) {
+            COLOR_VALUES[i] = colors[i].getColor();
+            COLOR_CTRL_STRS[i] = colors[i].toString();
+        }
+    }
+
+    /** Number of bits used for formatting flags in a {@linkplain #styleKeyOf(Style) style key} */
+    private static final int FLAG_BITS = 5;
+
+    /** Index in {@link #COLOR_VALUES} for a style without a color that has a formatting code */
+    private static final int NO_COLOR = COLOR_VALUES.length;
+
+    /**
+     * Cache of formatting codes, indexed by {@linkplain #styleKeyOf(Style) style key}
+     *
+     * <p>Because there are only as many style keys as combinations of a color and formatting
+     * flags, this cache is bounded and never needs eviction. Each entry is computed the first time
+     * its style is seen.
      */
-    private static final Map<Integer, String> COLOR_INT_TO_CTRL_STR_MAP =
-            Collections.unmodifiableMap(
-                    Arrays.stream(ChatFormatting.values())
-                            .filter(ChatFormatting::isColor)
-                            .map(
-                                    textFormatting ->
-                                            new SimpleImmutableEntry<>(
-                                                    textFormatting.getColor(), textFormatting.toString()))
-                            .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+    private static final String[] FORMATTING_CODE_CACHE =
+            new String[(COLOR_VALUES.length + 1) << FLAG_BITS];
+
+    /**
+     * Maximum capacity of a thread's {@link TextAppender} buffer that is kept for reuse after a
+     * conversion
+     */
+    private static final int MAX_RETAINED_CAPACITY = 8192;
+
+    /** The {@link TextAppender} reused by each thread for conversions */
+    private static final ThreadLocal<TextAppender> APPENDER =
+            ThreadLocal.withInitial(TextAppender::new);
+
+    /**
+     * A {@link FormattedText.ContentConsumer} that stops a visit as soon as it receives a non-empty
+     * piece of text
+     */
+    private static final FormattedText.ContentConsumer<Unit> NON_EMPTY_PROBE =
+            text -> text.isEmpty() ? Optional.empty() : FormattedText.STOP_ITERATION;
+
+    /** Number of times {@link #toFormattedText(Component)} has been called */
+    private static long conversionCount;
+
+    /** Number of formatting code lookups answered by {@link #FORMATTING_CODE_CACHE} */
+    private static long formattingCodeCacheHits;
+
+    /** Number of formatting code lookups that had to build a new formatting code */
+    private static long formattingCodeCacheMisses;
 
     /** Prevents instantiation of this class. */
     private TextComponents() {}
 
+    /**
+     * Returns the number of times a text component has been converted to formatted text by {@link
+     * #toFormattedText(Component)} since Minecraft started.
+     *
+     * @return the number of conversions to formatted text since Minecraft started
+     */
+    public static long getConversionCount() {
+        return conversionCount;
+    }
+
+    /**
+     * Returns the ratio of formatting code lookups answered by the cache of formatting codes to all
+     * lookups since Minecraft started, or {@code 0} if there has not been any lookup.
+     *
+     * @return the hit rate of the cache of formatting codes, between {@code 0} and {@code 1}
+     */
+    public static double getFormattingCodeCacheHitRate() {
+        long lookups = formattingCodeCacheHits + formattingCodeCacheMisses;
+        return lookups == 0 ? 0 : (double) formattingCodeCacheHits / lookups;
+    }
+
     /**
      * Returns the formatted text converted from an {@link ITextComponent} object. The formatted text
      * will end with a reset formatting code ({@code §r}).
      *
+     * <p>The whole text is written into a single buffer reused by the calling thread, so no
+     * intermediate string is created for any part of the text component.
+     *
      * @param textComponent the text component
      * @return the formatted text generated from the text component
      * @throws NullPointerException if {@code textComponent == null}
@@ -70,48 +150,270 @@ public class TextComponents {
      */
     public static String toFormattedText(Component textComponent) {
         Objects.requireNonNull(textComponent, "textComponent");
-        StringBuilder resultBuilder = new StringBuilder();
+        conversionCount++;
+        TextAppender appender = APPENDER.get();
+        StringBuilder builder = appender.builder;
+        builder.setLength(0);
+        appendFormattedText(textComponent, appender);
+        String result = builder.toString();
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            // Does not hold on to the memory taken by an unusually long text
+            APPENDER.remove();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the {@link TextRuns} of an {@link ITextComponent} object, which consist of the same
+     * pieces of text as the formatted text returned by {@link #toFormattedText(Component)} but hold
+     * each piece's formatting as a {@linkplain #styleKeyOf(Style) style key} instead of a
+     * formatting code.
+     *
+     * <p>Adjacent pieces of text with the same formatting are merged into one run, so how a text is
+     * split among sibling components does not affect the result. Text of a component that has
+     * siblings is left out, as it is in the formatted text, but it prevents the runs around it from
+     * being merged.
+     *
+     * @param textComponent the text component
+     * @return the text runs of the text component
+     * @throws NullPointerException if {@code textComponent == null}
+     */
+    public static TextRuns toTextRuns(Component textComponent) {
+        Objects.requireNonNull(textComponent, "textComponent");
+        TextAppender appender = APPENDER.get();
+        StringBuilder builder = appender.builder;
+        builder.setLength(0);
+        appender.runCount = 0;
+        appender.mergeable = false;
+        appendTextRuns(textComponent, appender);
+        int[] boundaries = Arrays.copyOf(appender.runStarts, appender.runCount + 1);
+        boundaries[appender.runCount] = builder.length();
+        TextRuns result =
+                new TextRuns(
+                        builder.toString(),
+                        boundaries,
+                        Arrays.copyOf(appender.runStyleKeys, appender.runCount));
+        if (builder.capacity() > MAX_RETAINED_CAPACITY) {
+            APPENDER.remove();
+        }
+        return result;
+    }
+
+    /**
+     * Appends the text of a {@link Component} object and each of its siblings to the buffer of a
+     * {@link TextAppender}, and records the runs the text consists of.
+     *
+     * @param textComponent the text component
+     * @param appender the {@code TextAppender} whose buffer the text is appended to
+     */
+    private static void appendTextRuns(Component textComponent, TextAppender appender) {
+        List<Component> siblings = textComponent.getSiblings();
+        if (siblings.isEmpty()) {
+            StringBuilder builder = appender.builder;
+            int textStart = builder.length();
+            textComponent.getContents().visit(appender);
+            if (builder.length() > textStart) {
+                int styleKey = styleKeyOf(textComponent.getStyle());
+                if (!appender.mergeable
+                        || appender.runStyleKeys[appender.runCount - 1] != styleKey) {
+                    appender.addRun(textStart, styleKey);
+                }
+                appender.mergeable = true;
+            }
+        } else if (textComponent.getContents().visit(NON_EMPTY_PROBE).isPresent()) {
+            appender.mergeable = false;
+        }
+        for (int i = 0; i < siblings.size(); i++) {
+            appendTextRuns(siblings.get(i), appender);
+        }
+    }
+
+    /**
+     * Appends the formatted text converted from a {@link Component} object and each of its
+     * siblings to the buffer of a {@link TextAppender}.
+     *
+     * <p>Only components without any sibling contribute their own text, each of which is preceded
+     * by the formatting code of the component's {@linkplain Style style} and followed by a reset
+     * formatting code ({@code §r}).
+     *
+     * @param textComponent the text component
+     * @param appender the {@code TextAppender} whose buffer the text is appended to
+     */
+    private static void appendFormattedText(Component textComponent, TextAppender appender) {
         List<Component> siblings = textComponent.getSiblings();
         if (siblings.isEmpty()) {
-            String text = textComponent.getString();
-            if (!text.isEmpty()) {
-                resultBuilder.append(formattingCodeOf(textComponent.getStyle())).append(text).append("§r");
+            StringBuilder builder = appender.builder;
+            int start = builder.length();
+            builder.append(formattingCodeOf(textComponent.getStyle()));
+            int textStart = builder.length();
+            // Equivalent to appending getString(), which only visits this
+            // component's contents because it has no sibling
+            textComponent.getContents().visit(appender);
+            if (builder.length() == textStart) {
+                // Empty text does not produce any formatting code
+                builder.setLength(start);
+            } else {
+                builder.append("§r");
             }
         }
-        siblings.forEach(component -> resultBuilder.append(toFormattedText(component)));
-        return resultBuilder.toString();
+        for (int i = 0; i < siblings.size(); i++) {
+            appendFormattedText(siblings.get(i), appender);
+        }
+    }
+
+    /**
+     * Returns a key that identifies the parts of a {@linkplain Style style} represented by
+     * formatting codes, namely its color and the obfuscated, bold, strikethrough, underlined and
+     * italic flags. Two styles have the same key if and only if they have the same formatting code.
+     *
+     * <p>A color that has no formatting code is treated the same as no color.
+     *
+     * @param style the style
+     * @return the key of the style
+     * @throws NullPointerException if {@code style == null}
+     */
+    static int styleKeyOf(Style style) {
+        int colorIndex = NO_COLOR;
+        TextColor color = style.getColor();
+        if (color != null) {
+            int index = Arrays.binarySearch(COLOR_VALUES, color.getValue());
+            if (index >= 0) {
+                colorIndex = index;
+            }
+        }
+        int flags =
+                (style.isObfuscated() ? 1 : 0)
+                        | (style.isBold() ? 1 << 1 : 0)
+                        | (style.isStrikethrough() ? 1 << 2 : 0)
+                        | (style.isUnderlined() ? 1 << 3 : 0)
+                        | (style.isItalic() ? 1 << 4 : 0);
+        return colorIndex << FLAG_BITS | flags;
+    }
+
+    /**
+     * Returns the {@linkplain #styleKeyOf(Style) style key} of the style generated by a sequence of
+     * formatting codes.
+     *
+     * @param formats the formatting codes; at most one of them may be a color
+     * @return the style key of the style generated by the formatting codes
+     * @throws IllegalArgumentException if there are multiple colors, or any formatting code is
+     *     {@link ChatFormatting#RESET}
+     */
+    static int styleKeyOf(ChatFormatting... formats) {
+        Style style = Style.EMPTY;
+        boolean hasColor = false;
+        for (ChatFormatting format : formats) {
+            if (format == ChatFormatting.RESET || (format.isColor() && hasColor)) {
+                throw new IllegalArgumentException("Unsupported formatting: " + format);
+            }
+            hasColor |= format.isColor();
+            style = style.applyFormat(format);
+        }
+        return styleKeyOf(style);
     }
 
     /**
      * Returns the formatting code that can generate the specified {@linkplain Style style}.
      *
+     * <p>The returned string is interned and cached, so later lookups for a style with the same
+     * formatting code do not build the code again.
+     *
      * @param style the style whose corresponding formatting code is queried
      * @return the formatting code for the specified style
      * @throws NullPointerException if {@code style == null}
      */
     private static String formattingCodeOf(Style style) {
         Objects.requireNonNull(style, "style");
+        int key = styleKeyOf(style);
+        String formattingCode = FORMATTING_CODE_CACHE[key];
+        if (formattingCode != null) {
+            formattingCodeCacheHits++;
+        } else {
+            formattingCodeCacheMisses++;
+            formattingCode = buildFormattingCode(key).intern();
+            FORMATTING_CODE_CACHE[key] = formattingCode;
+        }
+        return formattingCode;
+    }
+
+    /**
+     * Builds the formatting code for a {@linkplain #styleKeyOf(Style) style key}.
+     *
+     * @param styleKey the style key
+     * @return the formatting code for the style key
+     */
+    private static String buildFormattingCode(int styleKey) {
         StringBuilder formattingCodeBuilder = new StringBuilder();
-        TextColor color = style.getColor();
-        if (color != null) {
-            int colorCode = color.getValue();
-            formattingCodeBuilder.append(COLOR_INT_TO_CTRL_STR_MAP.getOrDefault(colorCode, ""));
+        int colorIndex = styleKey >>> FLAG_BITS;
+        if (colorIndex != NO_COLOR) {
+            formattingCodeBuilder.append(COLOR_CTRL_STRS[colorIndex]);
         }
-        if (style.isObfuscated()) {
-            formattingCodeBuilder.append(ChatFormatting.OBFUSCATED.toString());
+        if ((styleKey & 1) != 0) {
+            formattingCodeBuilder.append(ChatFormatting.OBFUSCATED);
         }
-        if (style.isBold()) {
-            formattingCodeBuilder.append(ChatFormatting.BOLD.toString());
+        if ((styleKey & 1 << 1) != 0) {
+            formattingCodeBuilder.append(ChatFormatting.BOLD);
         }
-        if (style.isStrikethrough()) {
-            formattingCodeBuilder.append(ChatFormatting.STRIKETHROUGH.toString());
+        if ((styleKey & 1 << 2) != 0) {
+            formattingCodeBuilder.append(ChatFormatting.STRIKETHROUGH);
         }
-        if (style.isUnderlined()) {
-            formattingCodeBuilder.append(ChatFormatting.UNDERLINE.toString());
+        if ((styleKey & 1 << 3) != 0) {
+            formattingCodeBuilder.append(ChatFormatting.UNDERLINE);
         }
-        if (style.isItalic()) {
-            formattingCodeBuilder.append(ChatFormatting.ITALIC.toString());
+        if ((styleKey & 1 << 4) != 0) {
+            formattingCodeBuilder.append(ChatFormatting.ITALIC);
         }
         return formattingCodeBuilder.toString();
     }
+
+    /**
+     * A {@link FormattedText.ContentConsumer} that appends every piece of text it receives to its
+     * own buffer, and which can also record the runs in that buffer.
+     *
+     * <p>Each thread reuses one instance of this class, so visiting a text component's contents
+     * allocates neither a new buffer nor a new consumer.
+     */
+    private static final class TextAppender implements FormattedText.ContentConsumer<Object> {
+        /** Initial capacity of the arrays that record runs */
+        private static final int INITIAL_RUN_CAPACITY = 16;
+
+        /** The buffer the text is appended to */
+        private final StringBuilder builder = new StringBuilder();
+
+        /** Index in {@link #builder} where each recorded run starts */
+        private int[] runStarts = new int[INITIAL_RUN_CAPACITY];
+
+        /** Style key of each recorded run */
+        private int[] runStyleKeys = new int[INITIAL_RUN_CAPACITY];
+
+        /** Number of recorded runs */
+        private int runCount;
+
+        /** Whether text appended next may be merged into the last recorded run */
+        private boolean mergeable;
+
+        /**
+         * Records a new run.
+         *
+         * @param start index in {@link #builder} where the run starts
+         * @param styleKey style key of the run
+         */
+        private void addRun(int start, int styleKey) {
+            // Leaves a spare slot in runStarts for the end of the last run
+            if (runCount + 1 >= runStarts.length) {
+                runStarts = Arrays.copyOf(runStarts, runStarts.length * 2);
+                runStyleKeys = Arrays.copyOf(runStyleKeys, runStyleKeys.length * 2);
+            }
+            runStarts[runCount] = start;
+            runStyleKeys[runCount] = styleKey;
+            runCount++;
+        }
+
+        @Override
+        public Optional<Object> accept(String text) {
+            builder.append(text);
+            // An empty result lets the visit continue to the next piece
+            return Optional.empty();
+        }
+    }
 }
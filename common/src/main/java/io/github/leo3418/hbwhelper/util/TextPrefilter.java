@@ -0,0 +1,167 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An immutable filter that cheaply rules out pieces of text that cannot contain any of a set of
+ * patterns, before more expensive matching is done on them.
+ *
+ * <p>Each pattern is summarized by a signature, which is a small bitset of hashes of all
+ * three-character sequences (trigrams) in the pattern. A text is summarized the same way in a
+ * single pass, and it is rejected if it is shorter than the shortest pattern or if no pattern's
+ * signature is contained in the text's signature. A text that contains a pattern is therefore never
+ * rejected, but a text that contains none of the patterns may still pass because of hash
+ * collisions or because it has every trigram of a pattern without having the pattern itself.
+ *
+ * <p>This class counts the texts it checks and rejects. The counters are not synchronized, so a
+ * filter should only be used from a single thread.
+ *
+ * @author Ambossmann
+ */
+public final class TextPrefilter {
+    /** Number of bits in a signature, which must be a power of two */
+    private static final int SIGNATURE_BITS = 512;
+
+    /** Number of {@code long}s in a signature */
+    private static final int SIGNATURE_LONGS = SIGNATURE_BITS / Long.SIZE;
+
+    /** Length of the character sequences that are hashed into a signature */
+    private static final int GRAM_LENGTH = 3;
+
+    /** Length of the shortest pattern */
+    private final int minLength;
+
+    /** Signature of each distinct pattern */
+    private final long[][] signatures;
+
+    /** Number of texts checked by {@link #mayContainAny(CharSequence)} */
+    private long checkedCount;
+
+    /** Number of texts rejected by {@link #mayContainAny(CharSequence)} */
+    private long rejectedCount;
+
+    /**
+     * Constructs a new filter for some patterns.
+     *
+     * @param patterns the patterns
+     * @throws IllegalArgumentException if {@code patterns} is empty
+     * @throws NullPointerException if {@code patterns} or any pattern is {@code null}
+     */
+    public TextPrefilter(Collection<String> patterns) {
+        if (patterns.isEmpty()) {
+            throw new IllegalArgumentException("No pattern is given");
+        }
+        int minLength = Integer.MAX_VALUE;
+        List<long[]> signatures = new ArrayList<>(patterns.size());
+        for (String pattern : patterns) {
+            minLength = Math.min(minLength, pattern.length());
+            long[] signature = signatureOf(pattern);
+            if (signatures.stream().noneMatch(other -> Arrays.equals(other, signature))) {
+                signatures.add(signature);
+            }
+        }
+        this.minLength = minLength;
+        this.signatures = signatures.toArray(new long[0][]);
+    }
+
+    /**
+     * Returns whether a text may contain any pattern of this filter. If this method returns {@code
+     * false}, the text does not contain any pattern.
+     *
+     * @param text the text
+     * @return whether the text may contain any pattern
+     */
+    public boolean mayContainAny(CharSequence text) {
+        checkedCount++;
+        if (text.length() >= minLength) {
+            long[] textSignature = signatureOf(text);
+            for (long[] signature : signatures) {
+                if (isSubset(signature, textSignature)) {
+                    return true;
+                }
+            }
+        }
+        rejectedCount++;
+        return false;
+    }
+
+    /**
+     * Returns the number of texts that have been checked by this filter.
+     *
+     * @return the number of texts that have been checked by this filter
+     */
+    public long getCheckedCount() {
+        return checkedCount;
+    }
+
+    /**
+     * Returns the ratio of texts rejected by this filter to all texts it has checked, or {@code 0}
+     * if it has not checked any text.
+     *
+     * @return the reject rate of this filter, between {@code 0} and {@code 1}
+     */
+    public double getRejectRate() {
+        return checkedCount == 0 ? 0 : (double) rejectedCount / checkedCount;
+    }
+
+    /**
+     * Returns the signature of a text.
+     *
+     * @param text the text
+     * @return the signature of the text
+     */
+    private static long[] signatureOf(CharSequence text) {
+        long[] signature = new long[SIGNATURE_LONGS];
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            int hash = text.charAt(i) * 0x9E3779B1;
+            hash = (hash ^ text.charAt(i + 1)) * 0x85EBCA6B;
+            hash = (hash ^ text.charAt(i + 2)) * 0xC2B2AE35;
+            int bit = (hash >>> 16) & (SIGNATURE_BITS - 1);
+            signature[bit >>> 6] |= 1L << bit;
+        }
+        return signature;
+    }
+
+    /**
+     * Returns whether every bit set in a signature is also set in another signature.
+     *
+     * @param subset the signature that may be a subset
+     * @param superset the signature that may be a superset
+     * @return whether {@code subset} is a subset of {@code superset}
+     */
+    private static boolean isSubset(long[] subset, long[] superset) {
+        for (int i = 0; i < SIGNATURE_LONGS; i++) {
+            if ((subset[i] & ~superset[i]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
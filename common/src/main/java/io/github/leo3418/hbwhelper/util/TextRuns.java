@@ -0,0 +1,115 @@
+/*
+ * Copyright (C) 2024 Ambossmann <https://github.com/Ambossmann>
+ *
+ * This file is part of Hypixel Bed Wars Helper - Sleepover Edition (HBW Helper SE).
+ *
+ * HBW Helper SE is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License (GPL) as
+ * published by the Free Software Foundation, either version 3 of the
+ * License, or (at your option) any later version.
+ *
+ * HBW Helper SE is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU General Public License for more details.
+ *
+ * Under section 7 of GPL version 3, you are granted additional
+ * permissions described in the HBW Helper MC Exception.
+ *
+ * You should have received a copy of the GNU GPL and a copy of the
+ * HBW Helper MC Exception along with this program's source code; see
+ * the files LICENSE.txt and LICENSE-MCE.txt respectively.  If not, see
+ * <http://www.gnu.org/licenses/> and
+ * <https://github.com/Anvil-Mods/HBWHelper>.
+ */
+package io.github.leo3418.hbwhelper.util;
+
+import net.minecraft.network.chat.Component;
+import net.minecraft.network.chat.Style;
+
+/**
+ * An immutable sequence of runs of text, each of which has a single formatting, copied out of a
+ * {@linkplain Component text component}.
+ *
+ * <p>Objects of this class are created by {@link TextComponents#toTextRuns(Component)}. They do
+ * not reference the text component they are created from, so they can be safely read from any
+ * thread.
+ *
+ * @author Ambossmann
+ */
+public final class TextRuns {
+    /** Text of all runs concatenated */
+    private final String text;
+
+    /**
+     * Index in {@link #text} where each run starts, followed by the length of {@code text}
+     */
+    private final int[] boundaries;
+
+    /** {@linkplain TextComponents#styleKeyOf(Style) Style key} of each run */
+    private final int[] styleKeys;
+
+    /**
+     * Constructs a new {@code TextRuns} instance. The arrays are not copied.
+     *
+     * @param text text of all runs concatenated
+     * @param boundaries index where each run starts, followed by the length of {@code text}
+     * @param styleKeys style key of each run
+     */
+    TextRuns(String text, int[] boundaries, int[] styleKeys) {
+        this.text = text;
+        this.boundaries = boundaries;
+        this.styleKeys = styleKeys;
+    }
+
+    /**
+     * Returns the number of runs.
+     *
+     * @return the number of runs
+     */
+    public int size() {
+        return styleKeys.length;
+    }
+
+    /**
+     * Returns the text of all runs concatenated.
+     *
+     * @return the text of all runs concatenated
+     */
+    public String getText() {
+        return text;
+    }
+
+    /**
+     * Returns the index in {@link #getText()} where a run starts.
+     *
+     * @param run the index of the run
+     * @return the index where the run starts
+     * @throws IndexOutOfBoundsException if there is no such run
+     */
+    public int start(int run) {
+        return boundaries[run];
+    }
+
+    /**
+     * Returns the index in {@link #getText()} where a run ends, exclusive.
+     *
+     * @param run the index of the run
+     * @return the index where the run ends, exclusive
+     * @throws IndexOutOfBoundsException if there is no such run
+     */
+    public int end(int run) {
+        return boundaries[run + 1];
+    }
+
+    /**
+     * Returns the style key of a run.
+     *
+     * @param run the index of the run
+     * @return the style key of the run
+     * @throws IndexOutOfBoundsException if there is no such run
+     */
+    int styleKey(int run) {
+        return styleKeys[run];
+    }
+}